@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.exception.control;
+
+/**
+ * Configures the executor running handlers declared with {@link Handles#async()}. Make an instance available as a
+ * bean, typically from a producer method, to replace the defaults of {@link #DEFAULT_THREADS} threads, a queue of
+ * {@link #DEFAULT_QUEUE_DEPTH} handler invocations and {@link RejectionPolicy#CALLER_RUNS}.
+ */
+public class AsynchronousHandlerSettings {
+    public static final int DEFAULT_THREADS = 2;
+    public static final int DEFAULT_QUEUE_DEPTH = 1000;
+
+    /**
+     * What to do with a handler invocation when the queue is full.
+     */
+    public enum RejectionPolicy {
+        /**
+         * Notify the handler on the thread which dispatched the exception.
+         */
+        CALLER_RUNS,
+        /**
+         * Drop the handler invocation.
+         */
+        DISCARD,
+        /**
+         * Drop the oldest queued handler invocation and queue this one instead.
+         */
+        DISCARD_OLDEST
+    }
+
+    private final int threads;
+    private final int queueDepth;
+    private final RejectionPolicy rejectionPolicy;
+
+    /**
+     * Sole constructor.
+     *
+     * @param threads         number of threads notifying asynchronous handlers
+     * @param queueDepth      maximum number of handler invocations waiting for a thread
+     * @param rejectionPolicy what to do when the queue is full
+     * @throws IllegalArgumentException if threads or queueDepth are not positive, or rejectionPolicy is null
+     */
+    public AsynchronousHandlerSettings(int threads, int queueDepth, RejectionPolicy rejectionPolicy) {
+        if (threads <= 0 || queueDepth <= 0) {
+            throw new IllegalArgumentException("threads and queueDepth must be positive");
+        }
+        if (rejectionPolicy == null) {
+            throw new IllegalArgumentException("rejectionPolicy must not be null");
+        }
+
+        this.threads = threads;
+        this.queueDepth = queueDepth;
+        this.rejectionPolicy = rejectionPolicy;
+    }
+
+    public int getThreads() {
+        return this.threads;
+    }
+
+    public int getQueueDepth() {
+        return this.queueDepth;
+    }
+
+    public RejectionPolicy getRejectionPolicy() {
+        return this.rejectionPolicy;
+    }
+}
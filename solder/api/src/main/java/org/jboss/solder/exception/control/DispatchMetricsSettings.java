@@ -0,0 +1,86 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.exception.control;
+
+import org.jboss.solder.core.Veto;
+
+/**
+ * Enables collection of exception dispatch metrics. Make an instance available as a bean, typically from a producer
+ * method; without one nothing is measured and the dispatcher does not pay for any timing. Collected metrics are
+ * published through a {@link DispatchMetricsSnapshot} event and, unless disabled here, a JMX MXBean registered as
+ * {@link #OBJECT_NAME}. Deployments sharing an MBean server should each register their metrics under their own name.
+ * <p/>
+ * The settings are vetoed as a managed bean, so metrics are only enabled by an application producing them.
+ */
+@Veto
+public class DispatchMetricsSettings {
+    public static final String OBJECT_NAME = "org.jboss.solder.exception:type=DispatchMetrics";
+
+    private final boolean registerMBean;
+    private final int snapshotInterval;
+    private final String objectName;
+
+    /**
+     * Registers the MXBean and never fires snapshots on its own.
+     */
+    public DispatchMetricsSettings() {
+        this(true, 0);
+    }
+
+    /**
+     * @param registerMBean    true to register the metrics with the platform MBean server
+     * @param snapshotInterval fire a {@link DispatchMetricsSnapshot} after every given number of dispatched
+     *                         exceptions, zero to only fire snapshots when requested through JMX
+     * @throws IllegalArgumentException if snapshotInterval is negative
+     */
+    public DispatchMetricsSettings(boolean registerMBean, int snapshotInterval) {
+        this(registerMBean, snapshotInterval, OBJECT_NAME);
+    }
+
+    /**
+     * @param registerMBean    true to register the metrics with the platform MBean server
+     * @param snapshotInterval fire a {@link DispatchMetricsSnapshot} after every given number of dispatched
+     *                         exceptions, zero to only fire snapshots when requested through JMX
+     * @param objectName       name the MXBean is registered under, such as
+     *                         <code>org.jboss.solder.exception:type=DispatchMetrics,deployment=shop</code>
+     * @throws IllegalArgumentException if snapshotInterval is negative or objectName is null
+     */
+    public DispatchMetricsSettings(boolean registerMBean, int snapshotInterval, String objectName) {
+        if (snapshotInterval < 0) {
+            throw new IllegalArgumentException("snapshotInterval must not be negative");
+        }
+        if (objectName == null) {
+            throw new IllegalArgumentException("objectName must not be null");
+        }
+
+        this.registerMBean = registerMBean;
+        this.snapshotInterval = snapshotInterval;
+        this.objectName = objectName;
+    }
+
+    public boolean isRegisterMBean() {
+        return this.registerMBean;
+    }
+
+    public int getSnapshotInterval() {
+        return this.snapshotInterval;
+    }
+
+    public String getObjectName() {
+        return this.objectName;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.exception.control;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Point in time copy of the exception dispatch metrics, fired as an event when metrics are enabled through
+ * {@link DispatchMetricsSettings}. Latencies are recorded in histograms whose buckets are bounded by
+ * {@link #LATENCY_BUCKET_BOUNDS_MICROS}; the last bucket holds everything slower than the last bound.
+ */
+public class DispatchMetricsSnapshot {
+    private static final long[] LATENCY_BUCKET_BOUNDS_MICROS = {10L, 100L, 1000L, 10000L, 100000L, 1000000L};
+
+    private final long timestamp;
+    private final long dispatches;
+    private final long unhandled;
+    private final long suppressed;
+    private final long[] dispatchLatencyHistogram;
+    private final Map<String, Long> flowCounts;
+    private final Map<String, HandlerStatistics> handlerStatistics;
+
+    public DispatchMetricsSnapshot(long timestamp, long dispatches, long unhandled, long suppressed,
+                                   long[] dispatchLatencyHistogram, Map<String, Long> flowCounts,
+                                   Map<String, HandlerStatistics> handlerStatistics) {
+        this.timestamp = timestamp;
+        this.dispatches = dispatches;
+        this.unhandled = unhandled;
+        this.suppressed = suppressed;
+        this.dispatchLatencyHistogram = dispatchLatencyHistogram.clone();
+        this.flowCounts = Collections.unmodifiableMap(flowCounts);
+        this.handlerStatistics = Collections.unmodifiableMap(handlerStatistics);
+    }
+
+    /**
+     * Upper bounds, in microseconds, of all but the last latency histogram bucket.
+     */
+    public static long[] getLatencyBucketBoundsMicros() {
+        return LATENCY_BUCKET_BOUNDS_MICROS.clone();
+    }
+
+    /**
+     * Index of the histogram bucket for the given latency.
+     *
+     * @param nanos latency in nanoseconds
+     */
+    public static int getLatencyBucket(long nanos) {
+        final long micros = nanos / 1000L;
+        for (int i = 0; i < LATENCY_BUCKET_BOUNDS_MICROS.length; i++) {
+            if (micros < LATENCY_BUCKET_BOUNDS_MICROS[i]) {
+                return i;
+            }
+        }
+        return LATENCY_BUCKET_BOUNDS_MICROS.length;
+    }
+
+    /**
+     * Number of buckets in every latency histogram.
+     */
+    public static int getLatencyBucketCount() {
+        return LATENCY_BUCKET_BOUNDS_MICROS.length + 1;
+    }
+
+    /**
+     * Time the snapshot was taken, in milliseconds since the epoch.
+     */
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    /**
+     * Number of exceptions dispatched.
+     */
+    public long getDispatches() {
+        return this.dispatches;
+    }
+
+    /**
+     * Number of dispatched exceptions which were not marked handled.
+     */
+    public long getUnhandled() {
+        return this.unhandled;
+    }
+
+    /**
+     * Number of dispatched exceptions suppressed as part of an exception storm.
+     */
+    public long getSuppressed() {
+        return this.suppressed;
+    }
+
+    /**
+     * Histogram of the time spent dispatching each exception.
+     */
+    public long[] getDispatchLatencyHistogram() {
+        return this.dispatchLatencyHistogram.clone();
+    }
+
+    /**
+     * Number of times handlers returned each flow outcome (HANDLED, ABORT, RETHROW, ...), keyed by the outcome name.
+     */
+    public Map<String, Long> getFlowCounts() {
+        return this.flowCounts;
+    }
+
+    /**
+     * Statistics of every handler notified at least once, keyed by handler name.
+     */
+    public Map<String, HandlerStatistics> getHandlerStatistics() {
+        return this.handlerStatistics;
+    }
+
+    /**
+     * Invocation count and latency of a single handler.
+     */
+    public static class HandlerStatistics {
+        private final String handler;
+        private final long invocations;
+        private final long totalNanos;
+        private final long[] latencyHistogram;
+
+        public HandlerStatistics(String handler, long invocations, long totalNanos, long[] latencyHistogram) {
+            this.handler = handler;
+            this.invocations = invocations;
+            this.totalNanos = totalNanos;
+            this.latencyHistogram = latencyHistogram.clone();
+        }
+
+        public String getHandler() {
+            return this.handler;
+        }
+
+        public long getInvocations() {
+            return this.invocations;
+        }
+
+        public long getTotalNanos() {
+            return this.totalNanos;
+        }
+
+        public long getMeanNanos() {
+            return this.invocations == 0 ? 0 : this.totalNanos / this.invocations;
+        }
+
+        public long[] getLatencyHistogram() {
+            return this.latencyHistogram.clone();
+        }
+
+        @Override
+        public String toString() {
+            return new StringBuilder(this.handler).append(": ").append(this.invocations).append(" invocations, ")
+                    .append(this.getMeanNanos()).append("ns mean").toString();
+        }
+    }
+}
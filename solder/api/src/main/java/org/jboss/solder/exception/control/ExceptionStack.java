@@ -19,31 +19,37 @@ package org.jboss.solder.exception.control;
 
 import java.io.Serializable;
 import java.sql.SQLException;
+import java.util.AbstractList;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.List;
 
 /**
  * Information about the current exception and exception cause container.  This object is not immutable.
+ * <p/>
+ * The cause chain is held as an immutable array from the root cause to the outermost exception, the current position
+ * is an index into it. Collections returned by this class are views of that array, {@link ExceptionStackItem}s are
+ * only created when {@link #getOrigExceptionStackItems()} is called.
  */
 public class ExceptionStack implements Serializable {
-    private static final long serialVersionUID = 5988683320170873619L;
+    private static final long serialVersionUID = -2581839311564375468L;
 
-    private boolean root;
-    private boolean last;
     private int initialStackSize;
-    private Throwable next;
-    private Collection<ExceptionStackItem> remaining;
-    private Deque<ExceptionStackItem> exceptionStackItems;
-    private Deque<ExceptionStackItem> origExceptionStackItems;
-    private Collection<Throwable> causes;
-    private Throwable current;
+    private Throwable[] chain;
+    private Throwable[] origChain;
+    private int currentIndex;
+    private boolean root;
+    private transient ExceptionStackItem[] origExceptionStackItems;
 
     /**
      * Basic constructor, needed to make the class a bean, please don't use
      */
     public ExceptionStack() {
+        this.chain = new Throwable[0];
+        this.origChain = this.chain;
     } // needed to be a bean
 
     /**
@@ -56,26 +62,40 @@ public class ExceptionStack implements Serializable {
             throw new IllegalArgumentException("exception must not be null");
         }
 
+        final List<Throwable> unwrapped = new ArrayList<Throwable>();
         Throwable e = exception;
-        this.exceptionStackItems = new ArrayDeque<ExceptionStackItem>();
 
         do {
-            this.exceptionStackItems.addFirst(new ExceptionStackItem(e));
+            unwrapped.add(e);
             if (e instanceof SQLException) {
                 SQLException sqlException = (SQLException) e;
 
                 while (sqlException.getNextException() != null) {
                     sqlException = sqlException.getNextException();
-                    this.exceptionStackItems.addFirst(new ExceptionStackItem(sqlException));
+                    unwrapped.add(sqlException);
                 }
             }
         }
         while ((e = e.getCause()) != null);
 
-        this.initialStackSize = this.exceptionStackItems.size();
-        this.causes = this.createThrowableCollectionFrom(exceptionStackItems);
-        this.origExceptionStackItems = new ArrayDeque<ExceptionStackItem>(exceptionStackItems);
-        this.init();
+        this.chain = reverse(unwrapped);
+        this.origChain = this.chain;
+        this.initialStackSize = this.chain.length;
+        this.init(0);
+    }
+
+    /**
+     * Copy constructor, the copy is not affected by later changes to the given stack.
+     *
+     * @param exceptionStack stack to copy
+     */
+    protected ExceptionStack(final ExceptionStack exceptionStack) {
+        this.initialStackSize = exceptionStack.initialStackSize;
+        this.chain = exceptionStack.chain;
+        this.origChain = exceptionStack.origChain;
+        this.currentIndex = exceptionStack.currentIndex;
+        this.root = exceptionStack.root;
+        this.origExceptionStackItems = exceptionStack.origExceptionStackItems;
     }
 
     /**
@@ -96,49 +116,29 @@ public class ExceptionStack implements Serializable {
         if (currentElementIndex >= causeChainElements.size()) {
             throw new IllegalArgumentException("currentElementIndex must be less than or equals to causeChainElements.size()");
         }
-        this.exceptionStackItems = new ArrayDeque<ExceptionStackItem>(this.createExceptionStackCollectionFrom(causeChainElements));
-        this.causes = Collections.unmodifiableCollection(causeChainElements);
-        this.origExceptionStackItems = new ArrayDeque<ExceptionStackItem>(exceptionStackItems);
-        this.init();
+        this.chain = reverse(causeChainElements);
+        this.origChain = this.chain;
+        this.init(0);
     }
 
-    private void init() {
-        this.root = this.exceptionStackItems.size() == this.initialStackSize;
-
-        if (!this.exceptionStackItems.isEmpty()) {
-            this.current = this.exceptionStackItems.removeFirst().getThrowable();
-            this.remaining = Collections.unmodifiableCollection(this.exceptionStackItems);
-        } else {
-            this.remaining = Collections.emptyList();
-            this.current = null;
-        }
-
-        this.last = this.remaining.isEmpty();
-        this.next = (this.last) ? null : this.exceptionStackItems.peekFirst().getThrowable();
+    private void init(final int index) {
+        this.currentIndex = Math.min(index, this.chain.length);
+        this.root = this.chain.length - this.currentIndex == this.initialStackSize;
     }
 
-    private Collection<ExceptionStackItem> createExceptionStackCollectionFrom(Collection<Throwable> throwables) {
-        final Deque<ExceptionStackItem> returningCollection = new ArrayDeque<ExceptionStackItem>(throwables.size());
+    private static Throwable[] reverse(final Collection<Throwable> throwables) {
+        final Throwable[] reversed = new Throwable[throwables.size()];
+        int i = reversed.length;
 
         for (Throwable t : throwables) {
-            returningCollection.addFirst(new ExceptionStackItem(t));
-        }
-
-        return returningCollection;
-    }
-
-    private Collection<Throwable> createThrowableCollectionFrom(final Collection<ExceptionStackItem> exceptionStackItems) {
-        final Deque<Throwable> returningCollection = new ArrayDeque<Throwable>(exceptionStackItems.size() + 1); // allow current
-
-        for (ExceptionStackItem item : exceptionStackItems) {
-            returningCollection.addFirst(item.getThrowable());
+            reversed[--i] = t;
         }
 
-        return returningCollection;
+        return reversed;
     }
 
     public Collection<Throwable> getCauseElements() {
-        return Collections.unmodifiableCollection(this.causes);
+        return new ReversedChainView(this.origChain, 0);
     }
 
     /**
@@ -147,15 +147,15 @@ public class ExceptionStack implements Serializable {
      * @return finished with iteration
      */
     public boolean isLast() {
-        return this.last;
+        return this.currentIndex + 1 >= this.chain.length;
     }
 
     public Throwable getNext() {
-        return this.next;
+        return this.isLast() ? null : this.chain[this.currentIndex + 1];
     }
 
     public Collection<Throwable> getRemaining() {
-        return Collections.unmodifiableCollection(this.createThrowableCollectionFrom(this.remaining));
+        return new ReversedChainView(this.chain, Math.min(this.currentIndex + 1, this.chain.length));
     }
 
     /**
@@ -173,12 +173,12 @@ public class ExceptionStack implements Serializable {
      * @return current exception
      */
     public Throwable getCurrent() {
-        return this.current;
+        return this.currentIndex < this.chain.length ? this.chain[this.currentIndex] : null;
     }
 
     public void setCauseElements(Collection<Throwable> elements) {
-        this.exceptionStackItems = new ArrayDeque<ExceptionStackItem>(this.createExceptionStackCollectionFrom(elements));
-        this.init();
+        this.chain = reverse(elements);
+        this.init(0);
     }
 
     /**
@@ -187,10 +187,48 @@ public class ExceptionStack implements Serializable {
      * @return The original exception stack
      */
     public Deque<ExceptionStackItem> getOrigExceptionStackItems() {
-        return new ArrayDeque<ExceptionStackItem>(this.origExceptionStackItems);
+        ExceptionStackItem[] items = this.origExceptionStackItems;
+        if (items == null) {
+            items = new ExceptionStackItem[this.origChain.length];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = new ExceptionStackItem(this.origChain[i]);
+            }
+            this.origExceptionStackItems = items;
+        }
+
+        final Deque<ExceptionStackItem> returningItems = new ArrayDeque<ExceptionStackItem>(items.length);
+        Collections.addAll(returningItems, items);
+        return returningItems;
     }
 
     protected void dropCause() {
-        this.init();
+        this.init(this.currentIndex + 1);
+    }
+
+    /**
+     * Unmodifiable view of a chain, from the outermost exception down to (and including) the element at the given
+     * index.
+     */
+    private static final class ReversedChainView extends AbstractList<Throwable> {
+        private final Throwable[] chain;
+        private final int from;
+
+        ReversedChainView(final Throwable[] chain, final int from) {
+            this.chain = chain;
+            this.from = from;
+        }
+
+        @Override
+        public Throwable get(int index) {
+            if (index < 0 || index >= this.size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size());
+            }
+            return this.chain[this.chain.length - 1 - index];
+        }
+
+        @Override
+        public int size() {
+            return this.chain.length - this.from;
+        }
     }
 }
@@ -34,7 +34,9 @@ public final class ExceptionStackItem implements Serializable {
     final private StackTraceElement[] stackTraceElements;
 
     public ExceptionStackItem(final Throwable cause) {
-        this(cause, cause.getStackTrace());
+        // getStackTrace already returns a copy
+        this.stackTraceElements = cause.getStackTrace();
+        this.throwable = cause;
     }
 
     public ExceptionStackItem(Throwable throwable, StackTraceElement[] stackTraceElements) {
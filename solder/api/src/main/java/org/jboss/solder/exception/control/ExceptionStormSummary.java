@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.exception.control;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Event fired when a suppression window of an exception storm has passed, reporting how many identical exceptions
+ * were suppressed within it. This class is immutable.
+ *
+ * @see ExceptionStormSuppression
+ */
+public class ExceptionStormSummary {
+    private final Class<? extends Throwable> exceptionType;
+    private final Set<Annotation> qualifiers;
+    private final int suppressedCount;
+    private final long windowStart;
+    private final long windowEnd;
+
+    public ExceptionStormSummary(Class<? extends Throwable> exceptionType, Set<Annotation> qualifiers,
+                                 int suppressedCount, long windowStart, long windowEnd) {
+        this.exceptionType = exceptionType;
+        this.qualifiers = Collections.unmodifiableSet(qualifiers);
+        this.suppressedCount = suppressedCount;
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+    }
+
+    public Class<? extends Throwable> getExceptionType() {
+        return this.exceptionType;
+    }
+
+    public Set<Annotation> getQualifiers() {
+        return this.qualifiers;
+    }
+
+    /**
+     * Number of exceptions suppressed within the window, not counting the first one which was dispatched normally.
+     */
+    public int getSuppressedCount() {
+        return this.suppressedCount;
+    }
+
+    /**
+     * Start of the window in milliseconds since the epoch.
+     */
+    public long getWindowStart() {
+        return this.windowStart;
+    }
+
+    /**
+     * End of the window in milliseconds since the epoch.
+     */
+    public long getWindowEnd() {
+        return this.windowEnd;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("Suppressed ").append(this.suppressedCount).append(" ")
+                .append(this.exceptionType.getName()).append(" qualifiers: ").append(this.qualifiers).toString();
+    }
+}
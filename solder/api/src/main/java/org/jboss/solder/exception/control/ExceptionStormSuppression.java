@@ -0,0 +1,81 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.exception.control;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enables exception storm suppression when made available as a bean, typically from a producer method.
+ * <p/>
+ * Exceptions are fingerprinted by type, the top stack frames and the qualifiers of the {@link ExceptionToCatch}. The
+ * first exception of a fingerprint opens a window; identical exceptions arriving within that window are counted and
+ * marked handled, and only handlers declared with {@link Handles#stormSafe()} are notified for them. The number of
+ * suppressed exceptions is reported through an {@link ExceptionStormSummary} event once the window has passed and the
+ * fingerprint is seen again.
+ */
+public class ExceptionStormSuppression {
+    public static final int DEFAULT_STACK_FRAME_DEPTH = 5;
+    public static final int DEFAULT_MAX_FINGERPRINTS = 1000;
+
+    private final long windowMillis;
+    private final int stackFrameDepth;
+    private final int maxFingerprints;
+
+    /**
+     * Suppresses repeats within the given window, fingerprinting {@link #DEFAULT_STACK_FRAME_DEPTH} stack frames.
+     *
+     * @param window length of the suppression window
+     * @param unit   unit of the window
+     */
+    public ExceptionStormSuppression(long window, TimeUnit unit) {
+        this(window, unit, DEFAULT_STACK_FRAME_DEPTH, DEFAULT_MAX_FINGERPRINTS);
+    }
+
+    /**
+     * Full constructor.
+     *
+     * @param window          length of the suppression window
+     * @param unit            unit of the window
+     * @param stackFrameDepth number of top stack frames included in the fingerprint
+     * @param maxFingerprints number of fingerprints tracked before expired windows are purged
+     * @throws IllegalArgumentException if the window is not positive or the depth or maximum are negative
+     */
+    public ExceptionStormSuppression(long window, TimeUnit unit, int stackFrameDepth, int maxFingerprints) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("window must be positive");
+        }
+        if (stackFrameDepth < 0 || maxFingerprints < 0) {
+            throw new IllegalArgumentException("stackFrameDepth and maxFingerprints must not be negative");
+        }
+
+        this.windowMillis = unit.toMillis(window);
+        this.stackFrameDepth = stackFrameDepth;
+        this.maxFingerprints = maxFingerprints;
+    }
+
+    public long getWindowMillis() {
+        return this.windowMillis;
+    }
+
+    public int getStackFrameDepth() {
+        return this.stackFrameDepth;
+    }
+
+    public int getMaxFingerprints() {
+        return this.maxFingerprints;
+    }
+}
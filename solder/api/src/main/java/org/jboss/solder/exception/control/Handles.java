@@ -41,4 +41,21 @@ public @interface Handles {
      * Precedence relative to handlers for the same type
      */
     public abstract int precedence() default Precedence.DEFAULT;
+
+    /**
+     * Flag indicating the handler is still called for exceptions suppressed as part of an exception storm.
+     *
+     * @see ExceptionStormSuppression
+     */
+    public abstract boolean stormSafe() default false;
+
+    /**
+     * Flag indicating the handler is notified on a separate thread once the dispatcher has decided the outcome for
+     * the exception. Asynchronous handlers receive a snapshot of the {@link ExceptionStack} taken when they were
+     * reached, cannot influence the handling flow and cannot be unmuted. Only application scoped and dependent
+     * handler beans should be asynchronous, as request and session contexts are not active on the executing thread.
+     *
+     * @see AsynchronousHandlerSettings
+     */
+    public abstract boolean async() default false;
 }
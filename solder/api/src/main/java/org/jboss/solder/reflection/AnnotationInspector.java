@@ -30,6 +30,10 @@ import javax.enterprise.inject.spi.BeanManager;
 /**
  * Inspect an {@link AnnotatedElement} or {@link Annotated} to obtain its meta-annotations and annotations,
  * featuring support for {@link Stereotype} annotations as a transitive annotation provider.
+ * <p/>
+ * Annotations are also inherited from stereotypes declared on a stereotype. The annotations each stereotype provides
+ * are collected once per deployment, so repeated inspection, such as by an extension scanning every type, does not
+ * walk the stereotype definitions again.
  *
  * @author Pete Muir
  * @author Dan Allen
@@ -260,13 +264,10 @@ public class AnnotationInspector {
     }
 
     private static boolean isAnnotationPresentOnStereotype(Collection<Annotation> annotations, Class<? extends Annotation> annotationType, BeanManager beanManager) {
+        final StereotypeIndex index = StereotypeIndex.of(beanManager);
         for (Annotation candidate : annotations) {
-            if (beanManager.isStereotype(candidate.annotationType())) {
-                for (Annotation stereotyped : beanManager.getStereotypeDefinition(candidate.annotationType())) {
-                    if (stereotyped.annotationType().equals(annotationType)) {
-                        return true;
-                    }
-                }
+            if (index.getMembers(candidate.annotationType(), beanManager).containsKey(annotationType)) {
+                return true;
             }
         }
 
@@ -274,13 +275,11 @@ public class AnnotationInspector {
     }
 
     private static <A extends Annotation> A getAnnotationFromStereotype(Collection<Annotation> annotations, Class<A> annotationType, BeanManager beanManager) {
+        final StereotypeIndex index = StereotypeIndex.of(beanManager);
         for (Annotation candidate : annotations) {
-            if (beanManager.isStereotype(candidate.annotationType())) {
-                for (Annotation stereotyped : beanManager.getStereotypeDefinition(candidate.annotationType())) {
-                    if (stereotyped.annotationType().equals(annotationType)) {
-                        return annotationType.cast(stereotyped);
-                    }
-                }
+            final Annotation stereotyped = index.getMembers(candidate.annotationType(), beanManager).get(annotationType);
+            if (stereotyped != null) {
+                return annotationType.cast(stereotyped);
             }
         }
 
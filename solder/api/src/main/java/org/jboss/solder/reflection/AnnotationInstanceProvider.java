@@ -18,6 +18,7 @@ package org.jboss.solder.reflection;
 
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Proxy;
@@ -37,7 +38,17 @@ import javax.enterprise.util.AnnotationLiteral;
  * <p>
  * {@link AnnotationInstanceProvider} creates a proxy, and will return values as
  * provided when the annotation instance was created. An
- * {@link AnnotationInstanceProvider} will cache generated proxy classes.
+ * {@link AnnotationInstanceProvider} will cache generated proxy classes. The
+ * hash code of each instance is computed once, when it is created.
+ * </p>
+ * <p/>
+ * <p>
+ * A provider created in interning mode returns a single canonical instance
+ * for each annotation type and set of member values, after applying member
+ * defaults and numeric coercion. Equal annotations are then usually identical,
+ * which saves memory when the same annotation is requested many times and
+ * lets <code>equals</code> return on the identity check. Interned instances
+ * are held for the lifetime of the provider.
  * </p>
  *
  * @author Stuart Douglas
@@ -46,10 +57,24 @@ import javax.enterprise.util.AnnotationLiteral;
  */
 public class AnnotationInstanceProvider {
 
-    private final ConcurrentMap<Class<?>, Class<?>> cache;
+    private final ConcurrentMap<Class<?>, Constructor<?>> cache;
+
+    private final ConcurrentMap<Annotation, Annotation> interned;
 
     public AnnotationInstanceProvider() {
-        cache = new ConcurrentHashMap<Class<?>, Class<?>>();
+        this(false);
+    }
+
+    /**
+     * @param intern true to return canonical instances for equal annotations
+     */
+    public AnnotationInstanceProvider(boolean intern) {
+        cache = new ConcurrentHashMap<Class<?>, Constructor<?>>();
+        interned = intern ? new ConcurrentHashMap<Annotation, Annotation>() : null;
+    }
+
+    public boolean isInterning() {
+        return interned != null;
     }
 
     /**
@@ -90,18 +115,27 @@ public class AnnotationInstanceProvider {
         if (annotationType == null) {
             throw new IllegalArgumentException("Must specify an annotation");
         }
-        Class<?> clazz = cache.get(annotationType);
-        // Not safe against data race, but doesn't matter, we can recompute and
-        // get the same value
-        if (clazz == null) {
-            // create the proxy class
-            clazz = Proxy.getProxyClass(annotationType.getClassLoader(), annotationType, Serializable.class);
-            cache.put(annotationType, clazz);
-        }
         AnnotationInvocationHandler handler = new AnnotationInvocationHandler(values, annotationType);
-        // create a new instance by obtaining the constructor via relection
+        // create a new instance through the cached proxy constructor
         try {
-            return annotationType.cast(clazz.getConstructor(new Class[]{InvocationHandler.class}).newInstance(new Object[]{handler}));
+            Constructor<?> constructor = cache.get(annotationType);
+            // Not safe against data race, but doesn't matter, we can recompute and
+            // get the same value
+            if (constructor == null) {
+                // create the proxy class
+                Class<?> clazz = Proxy.getProxyClass(annotationType.getClassLoader(), annotationType, Serializable.class);
+                constructor = clazz.getConstructor(new Class[]{InvocationHandler.class});
+                cache.put(annotationType, constructor);
+            }
+            T annotation = annotationType.cast(constructor.newInstance(new Object[]{handler}));
+            if (interned != null) {
+                // Equality covers the annotation type and all normalized member values
+                Annotation canonical = interned.putIfAbsent(annotation, annotation);
+                if (canonical != null) {
+                    return annotationType.cast(canonical);
+                }
+            }
+            return annotation;
         } catch (IllegalArgumentException e) {
             throw new IllegalStateException("Error instantiating proxy for annotation. Annotation type: " + annotationType, e);
         } catch (InstantiationException e) {
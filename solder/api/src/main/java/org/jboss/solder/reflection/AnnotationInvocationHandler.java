@@ -20,17 +20,25 @@ import java.io.IOException;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Class that handles the method calls for a {@link Proxy} that
  * implements an annotation.
+ * <p/>
+ * Member values are coerced to their declared types once, when the handler is
+ * created, and the hash code is computed at the same time. Member access is a
+ * lookup by name, and comparing two annotations created by
+ * {@link AnnotationInstanceProvider} compares their values directly, without
+ * reflective calls.
  *
  * @author Stuart Douglas
  * @see AnnotationInstanceProvider
@@ -52,6 +60,37 @@ class AnnotationInvocationHandler implements InvocationHandler, Serializable {
 
     }
 
+    static final Comparator<Method> MEMBER_NAME_COMPARATOR = new Comparator<Method>() {
+        public int compare(Method m1, Method m2) {
+            return m1.getName().compareTo(m2.getName());
+        }
+    };
+
+    /**
+     * Members of an annotation type, sorted by name, shared by all handlers of
+     * that type.
+     */
+    private static final class AnnotationMembers {
+        private final Method[] members;
+        private final Map<String, Integer> indexes;
+
+        AnnotationMembers(Class<?> annotationType) {
+            this.members = annotationType.getDeclaredMethods();
+            Arrays.sort(members, MEMBER_NAME_COMPARATOR);
+            this.indexes = new HashMap<String, Integer>();
+            for (int i = 0; i < members.length; i++) {
+                indexes.put(members[i].getName(), i);
+            }
+        }
+    }
+
+    private static final ClassValueCache<AnnotationMembers> MEMBERS = new ClassValueCache<AnnotationMembers>() {
+        @Override
+        protected AnnotationMembers computeValue(Class<?> type) {
+            return new AnnotationMembers(type);
+        }
+    };
+
     private static final long serialVersionUID = 4801508041776645033L;
 
     private final Map<String, Object> valueMap;
@@ -60,12 +99,27 @@ class AnnotationInvocationHandler implements InvocationHandler, Serializable {
 
     private final Method[] members;
 
+    private final Map<String, Integer> memberIndexes;
+
+    /**
+     * Values of the members, coerced to the member types, in the order of {@link #members}.
+     */
+    private final Object[] values;
+
+    private final int hashCode;
+
+    private volatile String toString;
+
     AnnotationInvocationHandler(Map<String, ?> values, Class<? extends Annotation> annotationType) {
         this.valueMap = new HashMap<String, Object>();
         valueMap.putAll(values);
         this.annotationType = annotationType;
-        this.members = annotationType.getDeclaredMethods();
-        for (Method m : members) {
+        final AnnotationMembers annotationMembers = getMembers(annotationType);
+        this.members = annotationMembers.members;
+        this.memberIndexes = annotationMembers.indexes;
+        this.values = new Object[members.length];
+        for (int i = 0; i < members.length; i++) {
+            Method m = members[i];
             Object value = valueMap.get(m.getName());
             if (value == null) {
                 value = m.getDefaultValue();
@@ -75,25 +129,31 @@ class AnnotationInvocationHandler implements InvocationHandler, Serializable {
                     valueMap.put(m.getName(), value);
                 }
             }
+            this.values[i] = copyIfArray(performTypeCoercion(value, m.getReturnType()));
         }
+        this.hashCode = computeHashCode();
+    }
+
+    private static AnnotationMembers getMembers(Class<? extends Annotation> annotationType) {
+        return MEMBERS.get(annotationType);
     }
 
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-        if (method.getName().equals("equals")) {
-            return equals(args[0]);
-        } else if (method.getName().equals("hashCode")) {
-            return hashCode();
-        } else if (method.getName().equals("toString")) {
-            return toString();
-        } else if (method.getName().equals("annotationType")) {
-            return annotationType;
-        } else {
-            Object val = valueMap.get(method.getName());
-            Class<?> r = method.getReturnType();
-            val = performTypeCoercion(val, r);
-            return val;
+        if (args == null || args.length == 0) {
+            final Integer index = memberIndexes.get(method.getName());
+            if (index != null) {
+                return copyIfArray(values[index]);
+            } else if (method.getName().equals("hashCode")) {
+                return hashCode;
+            } else if (method.getName().equals("toString")) {
+                return toString();
+            } else if (method.getName().equals("annotationType")) {
+                return annotationType;
+            }
+        } else if (method.getName().equals("equals")) {
+            return proxy == args[0] || equals(args[0]);
         }
-
+        return performTypeCoercion(valueMap.get(method.getName()), method.getReturnType());
     }
 
     private Object performTypeCoercion(Object val, Class<?> type) {
@@ -117,13 +177,36 @@ class AnnotationInvocationHandler implements InvocationHandler, Serializable {
         return val;
     }
 
+    /**
+     * Array members are handed out as copies so callers cannot change the
+     * value, and with it the hash code, of the annotation.
+     */
+    private static Object copyIfArray(Object value) {
+        if (value != null && value.getClass().isArray()) {
+            final int length = Array.getLength(value);
+            final Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+            System.arraycopy(value, 0, copy, 0, length);
+            return copy;
+        }
+        return value;
+    }
+
     @Override
     public String toString() {
+        String result = toString;
+        if (result == null) {
+            result = buildString();
+            toString = result;
+        }
+        return result;
+    }
+
+    private String buildString() {
         StringBuilder string = new StringBuilder();
         string.append('@').append(annotationType.getName()).append('(');
         for (int i = 0; i < members.length; i++) {
             string.append(members[i].getName()).append('=');
-            Object value = performTypeCoercion(valueMap.get(members[i].getName()), members[i].getReturnType());
+            Object value = values[i];
             if (value instanceof boolean[]) {
                 appendInBraces(string, Arrays.toString((boolean[]) value));
             } else if (value instanceof byte[]) {
@@ -179,41 +262,22 @@ class AnnotationInvocationHandler implements InvocationHandler, Serializable {
         if (other instanceof Annotation) {
             Annotation that = (Annotation) other;
             if (this.annotationType.equals(that.annotationType())) {
-                for (Method member : members) {
-                    Object thisValue = performTypeCoercion(valueMap.get(member.getName()), member.getReturnType());
-                    Object thatValue = invoke(member, that);
-                    if (thisValue instanceof byte[] && thatValue instanceof byte[]) {
-                        if (!Arrays.equals((byte[]) thisValue, (byte[]) thatValue))
-                            return false;
-                    } else if (thisValue instanceof short[] && thatValue instanceof short[]) {
-                        if (!Arrays.equals((short[]) thisValue, (short[]) thatValue))
-                            return false;
-                    } else if (thisValue instanceof int[] && thatValue instanceof int[]) {
-                        if (!Arrays.equals((int[]) thisValue, (int[]) thatValue))
-                            return false;
-                    } else if (thisValue instanceof long[] && thatValue instanceof long[]) {
-                        if (!Arrays.equals((long[]) thisValue, (long[]) thatValue))
-                            return false;
-                    } else if (thisValue instanceof float[] && thatValue instanceof float[]) {
-                        if (!Arrays.equals((float[]) thisValue, (float[]) thatValue))
-                            return false;
-                    } else if (thisValue instanceof double[] && thatValue instanceof double[]) {
-                        if (!Arrays.equals((double[]) thisValue, (double[]) thatValue))
-                            return false;
-                    } else if (thisValue instanceof char[] && thatValue instanceof char[]) {
-                        if (!Arrays.equals((char[]) thisValue, (char[]) thatValue))
-                            return false;
-                    } else if (thisValue instanceof boolean[] && thatValue instanceof boolean[]) {
-                        if (!Arrays.equals((boolean[]) thisValue, (boolean[]) thatValue))
-                            return false;
-                    } else if (thisValue instanceof Object[] && thatValue instanceof Object[]) {
-                        if (!Arrays.equals((Object[]) thisValue, (Object[]) thatValue))
-                            return false;
-                    } else {
-                        if (!thisValue.equals(thatValue)) {
+                final AnnotationInvocationHandler thatHandler = getHandler(that);
+                if (thatHandler != null) {
+                    if (this.hashCode != thatHandler.hashCode) {
+                        return false;
+                    }
+                    for (int i = 0; i < members.length; i++) {
+                        if (!memberValueEquals(values[i], thatHandler.values[i])) {
                             return false;
                         }
                     }
+                    return true;
+                }
+                for (int i = 0; i < members.length; i++) {
+                    if (!memberValueEquals(values[i], invoke(members[i], that))) {
+                        return false;
+                    }
                 }
                 return true;
             }
@@ -221,12 +285,54 @@ class AnnotationInvocationHandler implements InvocationHandler, Serializable {
         return false;
     }
 
+    /**
+     * @return the handler of the given annotation if it was also created by
+     *         {@link AnnotationInstanceProvider}, otherwise null
+     */
+    private static AnnotationInvocationHandler getHandler(Annotation annotation) {
+        if (Proxy.isProxyClass(annotation.getClass())) {
+            final InvocationHandler handler = Proxy.getInvocationHandler(annotation);
+            if (handler instanceof AnnotationInvocationHandler) {
+                return (AnnotationInvocationHandler) handler;
+            }
+        }
+        return null;
+    }
+
+    private static boolean memberValueEquals(Object thisValue, Object thatValue) {
+        if (thisValue instanceof byte[] && thatValue instanceof byte[]) {
+            return Arrays.equals((byte[]) thisValue, (byte[]) thatValue);
+        } else if (thisValue instanceof short[] && thatValue instanceof short[]) {
+            return Arrays.equals((short[]) thisValue, (short[]) thatValue);
+        } else if (thisValue instanceof int[] && thatValue instanceof int[]) {
+            return Arrays.equals((int[]) thisValue, (int[]) thatValue);
+        } else if (thisValue instanceof long[] && thatValue instanceof long[]) {
+            return Arrays.equals((long[]) thisValue, (long[]) thatValue);
+        } else if (thisValue instanceof float[] && thatValue instanceof float[]) {
+            return Arrays.equals((float[]) thisValue, (float[]) thatValue);
+        } else if (thisValue instanceof double[] && thatValue instanceof double[]) {
+            return Arrays.equals((double[]) thisValue, (double[]) thatValue);
+        } else if (thisValue instanceof char[] && thatValue instanceof char[]) {
+            return Arrays.equals((char[]) thisValue, (char[]) thatValue);
+        } else if (thisValue instanceof boolean[] && thatValue instanceof boolean[]) {
+            return Arrays.equals((boolean[]) thisValue, (boolean[]) thatValue);
+        } else if (thisValue instanceof Object[] && thatValue instanceof Object[]) {
+            return Arrays.equals((Object[]) thisValue, (Object[]) thatValue);
+        } else {
+            return thisValue.equals(thatValue);
+        }
+    }
+
     @Override
     public int hashCode() {
+        return hashCode;
+    }
+
+    private int computeHashCode() {
         int hashCode = 0;
-        for (Method member : members) {
-            int memberNameHashCode = 127 * member.getName().hashCode();
-            Object value = performTypeCoercion(valueMap.get(member.getName()), member.getReturnType());
+        for (int i = 0; i < members.length; i++) {
+            int memberNameHashCode = 127 * members[i].getName().hashCode();
+            Object value = values[i];
             int memberValueHashCode;
             if (value instanceof boolean[]) {
                 memberValueHashCode = Arrays.hashCode((boolean[]) value);
@@ -0,0 +1,114 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.reflection;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers the outcome of {@link Reflections#isAssignableFrom(Type, Type)} and {@link Reflections#matches(Type, Type)}
+ * for pairs of types, so the comparison of raw types, type arguments, wildcards and bounds is done once per pair.
+ * <p/>
+ * Results are grouped in a {@link ClassValueCache} by a class the pair refers to, chosen by {@link CacheKeys} so the
+ * results of a class never refer to classes of another class loader, other than the bootstrap class loader. A pair of
+ * {@code List<DeploymentClass>} and {@code Collection<?>} is therefore kept with {@code DeploymentClass}. The results
+ * refer to the class they are grouped by, which stays reachable until the results are cleared under memory pressure
+ * or by {@link ReflectionMetadataCache#clear(ClassLoader)}. Pairs referring to classes of more than one such class
+ * loader, or to no class at all, are not cached.
+ *
+ * @see ReflectionMetadataCache#clear()
+ */
+final class AssignabilityCache {
+
+    private static final ClassValueCache<Results> RESULTS = new ClassValueCache<Results>() {
+        @Override
+        protected Results computeValue(Class<?> type) {
+            return new Results();
+        }
+    };
+
+    private AssignabilityCache() {
+    }
+
+    static boolean isAssignableFrom(Type type1, Type type2) {
+        final Results results = getResults(type1, type2);
+        if (results == null) {
+            return Reflections.computeIsAssignableFrom(type1, type2);
+        }
+        final TypePair key = new TypePair(type1, type2);
+        Boolean result = results.assignable.get(key);
+        if (result == null) {
+            result = Reflections.computeIsAssignableFrom(type1, type2);
+            results.assignable.put(key, result);
+        }
+        return result;
+    }
+
+    static boolean matches(Type type1, Type type2) {
+        final Results results = getResults(type1, type2);
+        if (results == null) {
+            return Reflections.computeMatches(type1, type2);
+        }
+        final TypePair key = new TypePair(type1, type2);
+        Boolean result = results.matching.get(key);
+        if (result == null) {
+            result = Reflections.computeMatches(type1, type2);
+            results.matching.put(key, result);
+        }
+        return result;
+    }
+
+    private static Results getResults(Type type1, Type type2) {
+        final Class<?> keyClass = CacheKeys.getKeyClass(type1, type2);
+        return keyClass == null ? null : RESULTS.get(keyClass);
+    }
+
+    private static final class Results {
+        private final ConcurrentMap<TypePair, Boolean> assignable = new ConcurrentHashMap<TypePair, Boolean>();
+        private final ConcurrentMap<TypePair, Boolean> matching = new ConcurrentHashMap<TypePair, Boolean>();
+    }
+
+    private static final class TypePair {
+        private final Type type1;
+        private final Type type2;
+        private final int hashCode;
+
+        TypePair(Type type1, Type type2) {
+            this.type1 = type1;
+            this.type2 = type2;
+            this.hashCode = 31 * type1.hashCode() + type2.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TypePair)) {
+                return false;
+            }
+            final TypePair that = (TypePair) o;
+            return this.hashCode == that.hashCode && this.type1.equals(that.type1) && this.type2.equals(that.type2);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.reflection;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.GenericDeclaration;
+import java.lang.reflect.Member;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+
+/**
+ * Finds the class under which a value derived from some types is kept in a {@link ClassValueCache}.
+ * <p/>
+ * A value keyed by a class of one class loader must not refer to classes of another, unrelated class loader, else
+ * keeping a JDK class such as {@link java.util.List} as the key keeps a deployment, which is long gone, reachable.
+ * Classes of the bootstrap class loader can be referred to from anywhere, so the types may mix them with classes of
+ * one other class loader, and that loader's class becomes the key.
+ */
+final class CacheKeys {
+
+    private CacheKeys() {
+    }
+
+    /**
+     * @param types the types the value is derived from
+     * @return the class to key the value by, or null if the types refer to classes of more than one class loader,
+     *         other than the bootstrap class loader, or to no class at all
+     */
+    static Class<?> getKeyClass(Type... types) {
+        final KeyFinder finder = new KeyFinder();
+        for (Type type : types) {
+            if (type != null && !finder.visit(type)) {
+                return null;
+            }
+        }
+        return finder.key;
+    }
+
+    private static final class KeyFinder {
+        private Class<?> key;
+
+        /**
+         * @return false if the type refers to a class of a class loader other than the one of the key
+         */
+        boolean visit(Type type) {
+            if (type instanceof Class<?>) {
+                return visitClass((Class<?>) type);
+            } else if (type instanceof ParameterizedType) {
+                final ParameterizedType parameterizedType = (ParameterizedType) type;
+                if (!visit(parameterizedType.getRawType())) {
+                    return false;
+                }
+                if (parameterizedType.getOwnerType() != null && !visit(parameterizedType.getOwnerType())) {
+                    return false;
+                }
+                for (Type argument : parameterizedType.getActualTypeArguments()) {
+                    if (!visit(argument)) {
+                        return false;
+                    }
+                }
+                return true;
+            } else if (type instanceof GenericArrayType) {
+                return visit(((GenericArrayType) type).getGenericComponentType());
+            } else if (type instanceof WildcardType) {
+                final WildcardType wildcardType = (WildcardType) type;
+                for (Type bound : wildcardType.getUpperBounds()) {
+                    if (!visit(bound)) {
+                        return false;
+                    }
+                }
+                for (Type bound : wildcardType.getLowerBounds()) {
+                    if (!visit(bound)) {
+                        return false;
+                    }
+                }
+                return true;
+            } else if (type instanceof TypeVariable<?>) {
+                // The bounds are read from the declaration, which may refer back to the variable
+                final GenericDeclaration declaration = ((TypeVariable<?>) type).getGenericDeclaration();
+                if (declaration instanceof Class<?>) {
+                    return visitClass((Class<?>) declaration);
+                } else if (declaration instanceof Member) {
+                    return visitClass(((Member) declaration).getDeclaringClass());
+                }
+            }
+            return true;
+        }
+
+        private boolean visitClass(Class<?> clazz) {
+            while (clazz.isArray()) {
+                clazz = clazz.getComponentType();
+            }
+            final ClassLoader classLoader = clazz.getClassLoader();
+            if (key == null || (classLoader != null && key.getClassLoader() == null)) {
+                key = clazz;
+                return true;
+            }
+            return classLoader == null || classLoader == key.getClassLoader();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.reflection;
+
+/**
+ * Lazily computes a value for a class and remembers it, much like
+ * <code>java.lang.ClassValue</code> of Java 7. Subclasses compute the value in
+ * {@link #computeValue(Class)}. Values are held, and released, like those of
+ * any {@link ClassValueStore}.
+ *
+ * @param <V> the type of the values
+ */
+public abstract class ClassValueCache<V> extends ClassValueStore<V> {
+
+    /**
+     * Compute the value for the given class. The value may be computed more
+     * than once for the same class, so it must not depend on which computation
+     * is kept.
+     *
+     * @param type the class to compute the value for
+     * @return the value, never null
+     */
+    protected abstract V computeValue(Class<?> type);
+
+    /**
+     * Get the value for the given class, computing it if it is not cached.
+     */
+    public V get(Class<?> type) {
+        V value = getIfPresent(type);
+        // Not safe against data race, but doesn't matter, we can recompute and
+        // get the same value
+        if (value == null) {
+            value = computeValue(type);
+            put(type, value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.reflection;
+
+import java.lang.ref.SoftReference;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Remembers a value per class. Values are stored by the caller, see
+ * {@link ClassValueCache} for values computed on demand.
+ * <p/>
+ * Classes are weakly keyed and their values only softly held. A value which
+ * refers to its class, directly or through its members, keeps the class and its
+ * class loader reachable until the garbage collector clears the value under
+ * memory pressure. Stores are meant to be held in static fields, every store
+ * created is released by {@link ReflectionMetadataCache#clear()} and, for the
+ * classes of a class loader going away, by
+ * {@link ReflectionMetadataCache#clear(ClassLoader)}.
+ *
+ * @param <V> the type of the values
+ */
+public class ClassValueStore<V> {
+
+    private static final List<ClassValueStore<?>> STORES = new CopyOnWriteArrayList<ClassValueStore<?>>();
+
+    private final Map<Class<?>, SoftReference<V>> values =
+            Collections.synchronizedMap(new WeakHashMap<Class<?>, SoftReference<V>>());
+
+    public ClassValueStore() {
+        STORES.add(this);
+    }
+
+    /**
+     * Get the value for the given class, or null if it is not stored.
+     */
+    public V getIfPresent(Class<?> type) {
+        final SoftReference<V> reference = values.get(type);
+        return reference == null ? null : reference.get();
+    }
+
+    /**
+     * Replace the value stored for the given class.
+     */
+    public void put(Class<?> type, V value) {
+        values.put(type, new SoftReference<V>(value));
+    }
+
+    /**
+     * Number of classes currently stored.
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Removes every stored class.
+     */
+    public void clear() {
+        values.clear();
+    }
+
+    /**
+     * Removes the stored classes defined by the given class loader.
+     */
+    public void clear(ClassLoader classLoader) {
+        synchronized (values) {
+            final Iterator<Class<?>> classes = values.keySet().iterator();
+            while (classes.hasNext()) {
+                if (classes.next().getClassLoader() == classLoader) {
+                    classes.remove();
+                }
+            }
+        }
+    }
+
+    static void clearAll() {
+        for (ClassValueStore<?> store : STORES) {
+            store.clear();
+        }
+    }
+
+    static void clearAll(ClassLoader classLoader) {
+        for (ClassValueStore<?> store : STORES) {
+            store.clear(classLoader);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.reflection;
+
+import java.lang.reflect.Field;
+
+/**
+ * Reads and writes a single field. The accessible flag is dealt with once, when the accessor is created, rather than
+ * on every access as {@link Reflections#setFieldValue(boolean, Field, Object, Object)} does. Instances are meant to be
+ * created once per field and kept by whoever accesses the field repeatedly.
+ * <p/>
+ * Values are read and written with {@link Field#get(Object)} and {@link Field#set(Object, Object)}, failures are
+ * reported exactly like the corresponding methods of {@link Reflections}. Fields of a primitive type can also be read
+ * and written through the primitive variants, such as {@link #getInt(Object)} and {@link #setInt(Object, int)}, which
+ * do not box the value.
+ */
+public class FieldAccessor {
+    private final Field field;
+
+    /**
+     * Creates an accessor, setting the accessible flag of the field in a {@link java.security.PrivilegedAction} if it
+     * is not set yet.
+     *
+     * @param field the field to access
+     */
+    public FieldAccessor(Field field) {
+        this(field, true);
+    }
+
+    /**
+     * @param field         the field to access
+     * @param setAccessible true to set the accessible flag of the field, false to honor its accessibility
+     */
+    public FieldAccessor(Field field, boolean setAccessible) {
+        if (setAccessible && !field.isAccessible()) {
+            Reflections.setAccessible(field);
+        }
+        this.field = field;
+    }
+
+    public Field getField() {
+        return this.field;
+    }
+
+    /**
+     * @see Reflections#getFieldValue(Field, Object, Class)
+     */
+    public Object get(Object instance) {
+        return Reflections.getFieldValue(this.field, instance, Object.class);
+    }
+
+    /**
+     * @see Reflections#setFieldValue(boolean, Field, Object, Object)
+     */
+    public void set(Object instance, Object value) {
+        Reflections.setFieldValue(false, this.field, instance, value);
+    }
+
+    /**
+     * Reads a field of type <code>int</code> without boxing the value.
+     *
+     * @see Field#getInt(Object)
+     */
+    public int getInt(Object instance) {
+        try {
+            return this.field.getInt(instance);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(Reflections.buildGetFieldValueErrorMessage(this.field, instance), e);
+        } catch (NullPointerException e) {
+            throw nullPointer(Reflections.buildGetFieldValueErrorMessage(this.field, instance), e);
+        } catch (ExceptionInInitializerError e) {
+            throw initializerError(Reflections.buildGetFieldValueErrorMessage(this.field, instance), e);
+        }
+    }
+
+    /**
+     * Reads a field of type <code>long</code> without boxing the value.
+     *
+     * @see Field#getLong(Object)
+     */
+    public long getLong(Object instance) {
+        try {
+            return this.field.getLong(instance);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(Reflections.buildGetFieldValueErrorMessage(this.field, instance), e);
+        } catch (NullPointerException e) {
+            throw nullPointer(Reflections.buildGetFieldValueErrorMessage(this.field, instance), e);
+        } catch (ExceptionInInitializerError e) {
+            throw initializerError(Reflections.buildGetFieldValueErrorMessage(this.field, instance), e);
+        }
+    }
+
+    /**
+     * Reads a field of type <code>double</code> without boxing the value.
+     *
+     * @see Field#getDouble(Object)
+     */
+    public double getDouble(Object instance) {
+        try {
+            return this.field.getDouble(instance);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(Reflections.buildGetFieldValueErrorMessage(this.field, instance), e);
+        } catch (NullPointerException e) {
+            throw nullPointer(Reflections.buildGetFieldValueErrorMessage(this.field, instance), e);
+        } catch (ExceptionInInitializerError e) {
+            throw initializerError(Reflections.buildGetFieldValueErrorMessage(this.field, instance), e);
+        }
+    }
+
+    /**
+     * Reads a field of type <code>boolean</code> without boxing the value.
+     *
+     * @see Field#getBoolean(Object)
+     */
+    public boolean getBoolean(Object instance) {
+        try {
+            return this.field.getBoolean(instance);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(Reflections.buildGetFieldValueErrorMessage(this.field, instance), e);
+        } catch (NullPointerException e) {
+            throw nullPointer(Reflections.buildGetFieldValueErrorMessage(this.field, instance), e);
+        } catch (ExceptionInInitializerError e) {
+            throw initializerError(Reflections.buildGetFieldValueErrorMessage(this.field, instance), e);
+        }
+    }
+
+    /**
+     * Writes a field of type <code>int</code> without boxing the value.
+     *
+     * @see Field#setInt(Object, int)
+     */
+    public void setInt(Object instance, int value) {
+        try {
+            this.field.setInt(instance, value);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(Reflections.buildSetFieldValueErrorMessage(this.field, instance, value), e);
+        } catch (NullPointerException e) {
+            throw nullPointer(Reflections.buildSetFieldValueErrorMessage(this.field, instance, value), e);
+        } catch (ExceptionInInitializerError e) {
+            throw initializerError(Reflections.buildSetFieldValueErrorMessage(this.field, instance, value), e);
+        }
+    }
+
+    /**
+     * Writes a field of type <code>long</code> without boxing the value.
+     *
+     * @see Field#setLong(Object, long)
+     */
+    public void setLong(Object instance, long value) {
+        try {
+            this.field.setLong(instance, value);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(Reflections.buildSetFieldValueErrorMessage(this.field, instance, value), e);
+        } catch (NullPointerException e) {
+            throw nullPointer(Reflections.buildSetFieldValueErrorMessage(this.field, instance, value), e);
+        } catch (ExceptionInInitializerError e) {
+            throw initializerError(Reflections.buildSetFieldValueErrorMessage(this.field, instance, value), e);
+        }
+    }
+
+    /**
+     * Writes a field of type <code>double</code> without boxing the value.
+     *
+     * @see Field#setDouble(Object, double)
+     */
+    public void setDouble(Object instance, double value) {
+        try {
+            this.field.setDouble(instance, value);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(Reflections.buildSetFieldValueErrorMessage(this.field, instance, value), e);
+        } catch (NullPointerException e) {
+            throw nullPointer(Reflections.buildSetFieldValueErrorMessage(this.field, instance, value), e);
+        } catch (ExceptionInInitializerError e) {
+            throw initializerError(Reflections.buildSetFieldValueErrorMessage(this.field, instance, value), e);
+        }
+    }
+
+    /**
+     * Writes a field of type <code>boolean</code> without boxing the value.
+     *
+     * @see Field#setBoolean(Object, boolean)
+     */
+    public void setBoolean(Object instance, boolean value) {
+        try {
+            this.field.setBoolean(instance, value);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(Reflections.buildSetFieldValueErrorMessage(this.field, instance, value), e);
+        } catch (NullPointerException e) {
+            throw nullPointer(Reflections.buildSetFieldValueErrorMessage(this.field, instance, value), e);
+        } catch (ExceptionInInitializerError e) {
+            throw initializerError(Reflections.buildSetFieldValueErrorMessage(this.field, instance, value), e);
+        }
+    }
+
+    private static NullPointerException nullPointer(String message, NullPointerException cause) {
+        NullPointerException e = new NullPointerException(message);
+        e.initCause(cause.getCause());
+        return e;
+    }
+
+    private static ExceptionInInitializerError initializerError(String message, ExceptionInInitializerError cause) {
+        ExceptionInInitializerError e = new ExceptionInInitializerError(message);
+        e.initCause(cause.getCause());
+        return e;
+    }
+
+    @Override
+    public String toString() {
+        return this.field.toString();
+    }
+}
@@ -19,6 +19,7 @@ package org.jboss.solder.reflection;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -26,9 +27,30 @@ import java.util.Set;
 
 /**
  * Utility class for resolving all bean types from a given type.
+ * <p/>
+ * Type closures discovered for a {@link Class} are shared between instances. The cache is weakly keyed and only
+ * softly holds the closures, but a closure refers back to its class, so the class and its class loader stay reachable
+ * until the closure is cleared under memory pressure. Release the closures of a class loader which is going away with
+ * {@link ReflectionMetadataCache#clear(ClassLoader)}.
  */
 public class HierarchyDiscovery {
 
+    private static final ClassValueCache<Map<Type, Class<?>>> CLOSURES = new ClassValueCache<Map<Type, Class<?>>>() {
+        @Override
+        protected Map<Type, Class<?>> computeValue(Class<?> type) {
+            final HierarchyDiscovery discovery = new HierarchyDiscovery(type);
+            discovery.discover();
+            return Collections.unmodifiableMap(discovery.types);
+        }
+    };
+
+    private static final ClassValueCache<Type> RESOLVED_TYPES = new ClassValueCache<Type>() {
+        @Override
+        protected Type computeValue(Class<?> type) {
+            return resolveType(type);
+        }
+    };
+
     private final Type type;
 
     private Map<Type, Class<?>> types;
@@ -50,6 +72,15 @@ public class HierarchyDiscovery {
     }
 
     private void init() {
+        // Subclasses may override add(), so only plain instances share closures
+        if (type instanceof Class<?> && getClass() == HierarchyDiscovery.class) {
+            this.types = CLOSURES.get((Class<?>) type);
+        } else {
+            discover();
+        }
+    }
+
+    private void discover() {
         this.types = new HashMap<Type, Class<?>>();
         try {
             discoverTypes(type);
@@ -63,7 +94,10 @@ public class HierarchyDiscovery {
     public Type getResolvedType() {
         if (type instanceof Class<?>) {
             Class<?> clazz = (Class<?>) type;
-            return resolveType(clazz);
+            if (clazz.getTypeParameters().length == 0) {
+                return clazz;
+            }
+            return RESOLVED_TYPES.get(clazz);
         }
         return type;
     }
@@ -88,10 +122,10 @@ public class HierarchyDiscovery {
         }
     }
 
-    private Type resolveType(Class<?> clazz) {
+    private static Type resolveType(Class<?> clazz) {
         if (clazz.getTypeParameters().length > 0) {
             TypeVariable<?>[] actualTypeParameters = clazz.getTypeParameters();
-            ParameterizedType parameterizedType = new ParameterizedTypeImpl(clazz, actualTypeParameters, clazz.getDeclaringClass());
+            ParameterizedType parameterizedType = ParameterizedTypeImpl.intern(clazz, actualTypeParameters, clazz.getDeclaringClass());
             return parameterizedType;
         } else {
             return clazz;
@@ -144,7 +178,7 @@ public class HierarchyDiscovery {
             resolvedActualTypes[i] = resolveType(beanType, beanType, actualTypes[i]);
         }
         // reconstruct ParameterizedType by types resolved TypeVariable.
-        return new ParameterizedTypeImpl(resolvedRawType, resolvedActualTypes, parameterizedType.getOwnerType());
+        return ParameterizedTypeImpl.intern(resolvedRawType, resolvedActualTypes, parameterizedType.getOwnerType());
     }
 
     private Type resolveTypeParameter(ParameterizedType type, Type beanType, TypeVariable<?> typeVariable) {
@@ -0,0 +1,58 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.reflection;
+
+import java.lang.reflect.Method;
+
+/**
+ * Invokes a single method. The accessible flag is dealt with once, when the invoker is created, rather than on every
+ * call as {@link Reflections#invokeMethod(boolean, Method, Object, Object...)} does. Instances are meant to be created
+ * once per method and kept by whoever calls the method repeatedly.
+ * <p/>
+ * Failures are reported exactly like {@link Reflections#invokeMethod(boolean, Method, Class, Object, Object...)}.
+ */
+public class MethodInvoker {
+    private final Method method;
+
+    /**
+     * @param method        the method to invoke
+     * @param setAccessible true to set the accessible flag of the method in a
+     *                      {@link java.security.PrivilegedAction}, false to honor its accessibility
+     */
+    public MethodInvoker(Method method, boolean setAccessible) {
+        if (setAccessible && !method.isAccessible()) {
+            Reflections.setAccessible(method);
+        }
+        this.method = method;
+    }
+
+    public Method getMethod() {
+        return this.method;
+    }
+
+    /**
+     * @see Reflections#invokeMethod(boolean, Method, Class, Object, Object...)
+     */
+    public Object invoke(Object instance, Object... args) {
+        return Reflections.invokeMethod(false, this.method, Object.class, instance, args);
+    }
+
+    @Override
+    public String toString() {
+        return this.method.toString();
+    }
+}
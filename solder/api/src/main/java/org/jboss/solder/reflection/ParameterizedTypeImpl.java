@@ -19,17 +19,63 @@ package org.jboss.solder.reflection;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-
+/**
+ * An implementation of {@link ParameterizedType}. The hash code is computed once, when the type is created.
+ * <p/>
+ * {@link #intern(Type, Type[], Type)} returns a canonical instance for each raw type, owner type and set of actual
+ * type arguments. Interned types are shared, which saves memory when the same type is resolved many times, and equal
+ * interned types are identical, so comparing them in type keyed maps stops at the identity check. Canonical types are
+ * kept with the class chosen by {@link CacheKeys}, so {@code List<DeploymentClass>} is kept with
+ * {@code DeploymentClass} and not with {@code List}, and goes away with the deployment.
+ */
 public class ParameterizedTypeImpl implements ParameterizedType {
+
+    private static final ClassValueCache<ConcurrentMap<ParameterizedTypeImpl, ParameterizedTypeImpl>> INTERNED =
+            new ClassValueCache<ConcurrentMap<ParameterizedTypeImpl, ParameterizedTypeImpl>>() {
+                @Override
+                protected ConcurrentMap<ParameterizedTypeImpl, ParameterizedTypeImpl> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<ParameterizedTypeImpl, ParameterizedTypeImpl>();
+                }
+            };
+
     private final Type[] actualTypeArguments;
     private final Type rawType;
     private final Type ownerType;
+    private final int hashCode;
 
     public ParameterizedTypeImpl(Type rawType, Type[] actualTypeArguments, Type ownerType) {
-        this.actualTypeArguments = actualTypeArguments;
+        this.actualTypeArguments = actualTypeArguments.clone();
         this.rawType = rawType;
         this.ownerType = ownerType;
+        this.hashCode = Arrays.hashCode(this.actualTypeArguments) ^ (ownerType == null ? 0 : ownerType.hashCode()) ^ (rawType == null ? 0 : rawType.hashCode());
+    }
+
+    /**
+     * Get the canonical parameterized type for the given raw type, actual type
+     * arguments and owner type. Types whose raw type is not a class, and types
+     * referring to classes of more than one class loader other than the
+     * bootstrap class loader, are not interned.
+     *
+     * @param rawType             the raw type
+     * @param actualTypeArguments the actual type arguments
+     * @param ownerType           the owner type, or null
+     * @return the canonical parameterized type
+     */
+    public static ParameterizedTypeImpl intern(Type rawType, Type[] actualTypeArguments, Type ownerType) {
+        final ParameterizedTypeImpl type = new ParameterizedTypeImpl(rawType, actualTypeArguments, ownerType);
+        if (!(rawType instanceof Class<?>)) {
+            return type;
+        }
+        final Class<?> keyClass = CacheKeys.getKeyClass(type);
+        if (keyClass == null) {
+            return type;
+        }
+        // At worst two threads create a table for the same class and a type is interned twice
+        final ParameterizedTypeImpl canonical = INTERNED.get(keyClass).putIfAbsent(type, type);
+        return canonical == null ? type : canonical;
     }
 
     public Type[] getActualTypeArguments() {
@@ -46,13 +92,16 @@ public class ParameterizedTypeImpl implements ParameterizedType {
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(actualTypeArguments) ^ (ownerType == null ? 0 : ownerType.hashCode()) ^ (rawType == null ? 0 : rawType.hashCode());
+        return hashCode;
     }
 
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
             return true;
+        } else if (obj instanceof ParameterizedTypeImpl) {
+            ParameterizedTypeImpl that = (ParameterizedTypeImpl) obj;
+            return hashCode == that.hashCode && (ownerType == null ? that.ownerType == null : ownerType.equals(that.ownerType)) && (rawType == null ? that.rawType == null : rawType.equals(that.rawType)) && Arrays.equals(actualTypeArguments, that.actualTypeArguments);
         } else if (obj instanceof ParameterizedType) {
             ParameterizedType that = (ParameterizedType) obj;
             Type thatOwnerType = that.getOwnerType();
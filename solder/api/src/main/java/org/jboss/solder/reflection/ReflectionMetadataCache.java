@@ -0,0 +1,217 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.reflection;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache behind the hierarchy searches of {@link Reflections}. For a class and a member name (and parameter types) it
+ * remembers which class in the hierarchy declares the member, or that none does. A search then costs a single
+ * lookup on the declaring class instead of a {@link NoSuchFieldException} or {@link NoSuchMethodException} for every
+ * superclass passed on the way.
+ * <p/>
+ * Only declaring classes are cached, never the members themselves. Reflection objects are mutable through
+ * {@link java.lang.reflect.AccessibleObject#setAccessible(boolean)}, so every caller still receives its own copy.
+ * <p/>
+ * Classes are weakly keyed and their entries only softly held. An entry can refer to its class, which then stays
+ * reachable, together with its class loader, until the entry is cleared under memory pressure. Solder releases the
+ * classes of a CDI deployment with {@link #clear(ClassLoader)} when the container shuts the deployment down, other
+ * frameworks which know a class loader is going away should do the same. Both clear methods also release every other
+ * {@link ClassValueStore}, such as the type closures of {@link HierarchyDiscovery} and the results remembered by
+ * {@link Reflections#isAssignableFrom(java.lang.reflect.Type, java.lang.reflect.Type)}.
+ */
+public class ReflectionMetadataCache {
+
+    /**
+     * Marks a search which found nothing, the maps cannot hold null.
+     */
+    private static final Class<?> NOT_FOUND = NotFound.class;
+
+    private static final ClassValueCache<ClassMetadata> METADATA = new ClassValueCache<ClassMetadata>() {
+        @Override
+        protected ClassMetadata computeValue(Class<?> type) {
+            return new ClassMetadata();
+        }
+    };
+
+    private static final AtomicLong HITS = new AtomicLong();
+
+    private static final AtomicLong MISSES = new AtomicLong();
+
+    private ReflectionMetadataCache() {
+    }
+
+    /**
+     * Removes every cached class from every {@link ClassValueStore}.
+     */
+    public static void clear() {
+        ClassValueStore.clearAll();
+    }
+
+    /**
+     * Removes all classes defined by the given class loader from every {@link ClassValueStore}, typically on undeploy.
+     *
+     * @param classLoader the class loader going away
+     */
+    public static void clear(ClassLoader classLoader) {
+        ClassValueStore.clearAll(classLoader);
+    }
+
+    /**
+     * Number of searches answered from the cache since startup.
+     */
+    public static long getHits() {
+        return HITS.get();
+    }
+
+    /**
+     * Number of searches which had to walk the class hierarchy since startup.
+     */
+    public static long getMisses() {
+        return MISSES.get();
+    }
+
+    /**
+     * Number of classes currently cached.
+     */
+    public static int size() {
+        return METADATA.size();
+    }
+
+    /**
+     * @return the nearest class, starting with clazz, declaring a field with the given name, or null
+     */
+    static Class<?> findFieldOwner(Class<?> clazz, String name) {
+        final ConcurrentMap<Object, Class<?>> owners = METADATA.get(clazz).fieldOwners;
+        Class<?> owner = owners.get(name);
+        if (owner == null) {
+            MISSES.incrementAndGet();
+            owner = NOT_FOUND;
+            for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+                try {
+                    c.getDeclaredField(name);
+                    owner = c;
+                    break;
+                } catch (NoSuchFieldException e) {
+                    // No-op, we continue looking up the class hierarchy
+                }
+            }
+            owners.put(name, owner);
+        } else {
+            HITS.incrementAndGet();
+        }
+        return owner == NOT_FOUND ? null : owner;
+    }
+
+    /**
+     * @return the nearest class, starting with clazz, declaring a method with the given name and parameter types, or
+     *         null
+     */
+    static Class<?> findMethodOwner(Class<?> clazz, String name, Class<?>... args) {
+        final ConcurrentMap<Object, Class<?>> owners = METADATA.get(clazz).methodOwners;
+        final MemberKey key = new MemberKey(name, args);
+        Class<?> owner = owners.get(key);
+        if (owner == null) {
+            MISSES.incrementAndGet();
+            owner = NOT_FOUND;
+            for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+                try {
+                    c.getDeclaredMethod(name, args);
+                    owner = c;
+                    break;
+                } catch (NoSuchMethodException e) {
+                    // No-op, continue the search
+                }
+            }
+            owners.put(key, owner);
+        } else {
+            HITS.incrementAndGet();
+        }
+        return owner == NOT_FOUND ? null : owner;
+    }
+
+    /**
+     * @return the nearest class, starting with clazz, declaring a constructor with the given parameter types, or null
+     */
+    static Class<?> findConstructorOwner(Class<?> clazz, Class<?>... args) {
+        final ConcurrentMap<Object, Class<?>> owners = METADATA.get(clazz).constructorOwners;
+        final MemberKey key = new MemberKey(null, args);
+        Class<?> owner = owners.get(key);
+        if (owner == null) {
+            MISSES.incrementAndGet();
+            owner = NOT_FOUND;
+            for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+                try {
+                    c.getDeclaredConstructor(args);
+                    owner = c;
+                    break;
+                } catch (NoSuchMethodException e) {
+                    // No-op, continue the search
+                }
+            }
+            owners.put(key, owner);
+        } else {
+            HITS.incrementAndGet();
+        }
+        return owner == NOT_FOUND ? null : owner;
+    }
+
+    /**
+     * Declaring classes found by the searches starting at a single class.
+     */
+    private static final class ClassMetadata {
+        private final ConcurrentMap<Object, Class<?>> fieldOwners = new ConcurrentHashMap<Object, Class<?>>();
+        private final ConcurrentMap<Object, Class<?>> methodOwners = new ConcurrentHashMap<Object, Class<?>>();
+        private final ConcurrentMap<Object, Class<?>> constructorOwners = new ConcurrentHashMap<Object, Class<?>>();
+    }
+
+    private static final class MemberKey {
+        private final String name;
+        private final Class<?>[] parameterTypes;
+        private final int hashCode;
+
+        MemberKey(String name, Class<?>[] parameterTypes) {
+            this.name = name;
+            this.parameterTypes = parameterTypes == null ? Reflections.EMPTY_CLASSES : parameterTypes.clone();
+            this.hashCode = 31 * (name == null ? 0 : name.hashCode()) + Arrays.hashCode(this.parameterTypes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MemberKey)) {
+                return false;
+            }
+            final MemberKey that = (MemberKey) o;
+            return this.hashCode == that.hashCode && (this.name == null ? that.name == null : this.name.equals(that.name))
+                    && Arrays.equals(this.parameterTypes, that.parameterTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+
+    private static final class NotFound {
+    }
+}
@@ -118,11 +118,12 @@ public class Reflections {
      * @return The field found, or null if no field is found
      */
     public static Field findDeclaredField(Class<?> clazz, String name) {
-        for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+        final Class<?> owner = ReflectionMetadataCache.findFieldOwner(clazz, name);
+        if (owner != null) {
             try {
-                return c.getDeclaredField(name);
+                return owner.getDeclaredField(name);
             } catch (NoSuchFieldException e) {
-                // No-op, we continue looking up the class hierarchy
+                // No-op, cannot happen once the owner is known
             }
         }
         return null;
@@ -217,6 +218,19 @@ public class Reflections {
         return methods;
     }
 
+    /**
+     * Get the members of an annotation type, sorted by name, in the order
+     * {@link AnnotationInstanceProvider} uses.
+     *
+     * @param annotationType The annotation type
+     * @return the members of the annotation type, copies the caller may modify
+     */
+    public static Method[] getAnnotationMembers(Class<? extends Annotation> annotationType) {
+        final Method[] members = annotationType.getDeclaredMethods();
+        Arrays.sort(members, AnnotationInvocationHandler.MEMBER_NAME_COMPARATOR);
+        return members;
+    }
+
     /**
      * Search the class hierarchy for a method with the given name and arguments.
      * Will return the nearest match, starting with the class specified and
@@ -228,11 +242,12 @@ public class Reflections {
      * @return The method found, or null if no method is found
      */
     public static Method findDeclaredMethod(Class<?> clazz, String name, Class<?>... args) {
-        for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+        final Class<?> owner = ReflectionMetadataCache.findMethodOwner(clazz, name, args);
+        if (owner != null) {
             try {
-                return c.getDeclaredMethod(name, args);
+                return owner.getDeclaredMethod(name, args);
             } catch (NoSuchMethodException e) {
-                // No-op, continue the search
+                // No-op, cannot happen once the owner is known
             }
         }
         return null;
@@ -248,11 +263,12 @@ public class Reflections {
      * @return The constructor found, or null if no constructor is found
      */
     public static Constructor<?> findDeclaredConstructor(Class<?> clazz, Class<?>... args) {
-        for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+        final Class<?> owner = ReflectionMetadataCache.findConstructorOwner(clazz, args);
+        if (owner != null) {
             try {
-                return c.getDeclaredConstructor(args);
+                return owner.getDeclaredConstructor(args);
             } catch (NoSuchMethodException e) {
-                // No-op, continue the search
+                // No-op, cannot happen once the owner is known
             }
         }
         return null;
@@ -552,11 +568,11 @@ public class Reflections {
         }
     }
 
-    private static String buildSetFieldValueErrorMessage(Field field, Object obj, Object value) {
+    static String buildSetFieldValueErrorMessage(Field field, Object obj, Object value) {
         return String.format("Exception setting [%s] field on object [%s] to value [%s]", field.getName(), obj, value);
     }
 
-    private static String buildGetFieldValueErrorMessage(Field field, Object obj) {
+    static String buildGetFieldValueErrorMessage(Field field, Object obj) {
         return String.format("Exception reading [%s] field from object [%s].", field.getName(), obj);
     }
 
@@ -936,7 +952,23 @@ public class Reflections {
         return false;
     }
 
+    /**
+     * Check the assignability of one type to another. Results for pairs involving
+     * parameterized types, wildcards or type variables are cached.
+     *
+     * @param type1 the type to assign to
+     * @param type2 the type to assign from
+     * @return true if type2 is assignable to type1
+     */
     public static boolean isAssignableFrom(Type type1, Type type2) {
+        if (type1 instanceof Class<?> && type2 instanceof Class<?>) {
+            // Plain classes are cheaper to compare than to look up
+            return isAssignableFrom((Class<?>) type1, EMPTY_TYPES, type2);
+        }
+        return AssignabilityCache.isAssignableFrom(type1, type2);
+    }
+
+    static boolean computeIsAssignableFrom(Type type1, Type type2) {
         if (type1 instanceof Class<?>) {
             Class<?> clazz = (Class<?>) type1;
             if (isAssignableFrom(clazz, EMPTY_TYPES, type2)) {
@@ -978,7 +1010,22 @@ public class Reflections {
         return false;
     }
 
+    /**
+     * Check whether one type matches another. Results for pairs involving
+     * parameterized types, wildcards or type variables are cached.
+     *
+     * @param type1 the type to match
+     * @param type2 the type to match against
+     * @return true if the types match
+     */
     public static boolean matches(Type type1, Type type2) {
+        if (type1 instanceof Class<?> && type2 instanceof Class<?>) {
+            return matches((Class<?>) type1, EMPTY_TYPES, type2);
+        }
+        return AssignabilityCache.matches(type1, type2);
+    }
+
+    static boolean computeMatches(Type type1, Type type2) {
         if (type1 instanceof Class<?>) {
             Class<?> clazz = (Class<?>) type1;
             if (matches(clazz, EMPTY_TYPES, type2)) {
@@ -0,0 +1,142 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.reflection;
+
+import java.lang.annotation.Annotation;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.enterprise.inject.spi.BeanManager;
+
+/**
+ * Index of the annotations provided by each stereotype of a deployment, used by {@link AnnotationInspector}. The
+ * annotations of a stereotype, including those of the stereotypes it declares in turn, are collected the first time the
+ * stereotype is inspected. Every later query is a single map lookup.
+ * <p/>
+ * An index is kept per {@link BeanManager} instance, weakly referenced so it goes away with the deployment. Bean
+ * managers are told apart by identity, as a container may consider the bean managers of a redeployed archive equal to
+ * those of the archive it replaces. Stereotypes are
+ * indexed lazily, so stereotypes registered during {@link javax.enterprise.inject.spi.BeforeBeanDiscovery} are seen
+ * as long as they are not inspected before that event.
+ */
+final class StereotypeIndex {
+
+    private static final Map<BeanManagerReference, StereotypeIndex> INDEXES = new HashMap<BeanManagerReference, StereotypeIndex>();
+
+    private static final ReferenceQueue<BeanManager> COLLECTED = new ReferenceQueue<BeanManager>();
+
+    private static final Map<Class<? extends Annotation>, Annotation> NOT_A_STEREOTYPE = Collections.emptyMap();
+
+    private final ConcurrentMap<Class<? extends Annotation>, Map<Class<? extends Annotation>, Annotation>> members;
+
+    private StereotypeIndex() {
+        this.members = new ConcurrentHashMap<Class<? extends Annotation>, Map<Class<? extends Annotation>, Annotation>>();
+    }
+
+    static StereotypeIndex of(BeanManager beanManager) {
+        synchronized (INDEXES) {
+            for (Reference<? extends BeanManager> collected = COLLECTED.poll(); collected != null; collected = COLLECTED.poll()) {
+                INDEXES.remove(collected);
+            }
+            StereotypeIndex index = INDEXES.get(new BeanManagerReference(beanManager, null));
+            if (index == null) {
+                index = new StereotypeIndex();
+                INDEXES.put(new BeanManagerReference(beanManager, COLLECTED), index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * @return the annotations provided by the given stereotype, transitively, keyed by annotation type, or an empty
+     *         map if the annotation type is not a stereotype
+     */
+    Map<Class<? extends Annotation>, Annotation> getMembers(Class<? extends Annotation> annotationType, BeanManager beanManager) {
+        Map<Class<? extends Annotation>, Annotation> result = members.get(annotationType);
+        if (result == null) {
+            result = collectMembers(annotationType, beanManager);
+            members.put(annotationType, result);
+        }
+        return result;
+    }
+
+    /**
+     * Walks the stereotype breadth first, so an annotation declared directly on the stereotype takes precedence over
+     * one inherited from a nested stereotype.
+     */
+    private static Map<Class<? extends Annotation>, Annotation> collectMembers(Class<? extends Annotation> annotationType, BeanManager beanManager) {
+        if (!beanManager.isStereotype(annotationType)) {
+            return NOT_A_STEREOTYPE;
+        }
+        final Map<Class<? extends Annotation>, Annotation> result = new LinkedHashMap<Class<? extends Annotation>, Annotation>();
+        final Set<Class<? extends Annotation>> visited = new HashSet<Class<? extends Annotation>>();
+        final LinkedList<Class<? extends Annotation>> pending = new LinkedList<Class<? extends Annotation>>();
+        visited.add(annotationType);
+        pending.add(annotationType);
+        while (!pending.isEmpty()) {
+            for (Annotation member : beanManager.getStereotypeDefinition(pending.removeFirst())) {
+                final Class<? extends Annotation> memberType = member.annotationType();
+                if (!result.containsKey(memberType)) {
+                    result.put(memberType, member);
+                }
+                if (visited.add(memberType) && beanManager.isStereotype(memberType)) {
+                    pending.add(memberType);
+                }
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Weak reference to a bean manager, equal to references to the same instance only.
+     */
+    private static final class BeanManagerReference extends WeakReference<BeanManager> {
+        private final int hashCode;
+
+        BeanManagerReference(BeanManager beanManager, ReferenceQueue<BeanManager> queue) {
+            super(beanManager, queue);
+            this.hashCode = System.identityHashCode(beanManager);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BeanManagerReference)) {
+                return false;
+            }
+            final BeanManager beanManager = get();
+            return beanManager != null && beanManager == ((BeanManagerReference) o).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -61,6 +61,7 @@ import org.jboss.solder.reflection.HierarchyDiscovery;
 import org.jboss.solder.reflection.Reflections;
 import org.jboss.solder.reflection.Synthetic;
 import org.jboss.solder.reflection.annotated.AnnotatedTypeBuilder;
+import org.jboss.solder.reflection.annotated.AnnotatedTypeSummary;
 import org.jboss.solder.util.collections.SetMultimap;
 import org.jboss.solder.util.collections.Supplier;
 
@@ -195,6 +196,10 @@ public class DefaultBeanExtension implements Extension {
                 }
             }
         }
+        if (!defaultBean && !AnnotatedTypeSummary.of(tp).isPresentOnMember(DefaultBean.class)) {
+            // no default producers either
+            return;
+        }
         final Set<Synthetic> producers = new HashSet<Synthetic>();
         // now look for producer methods
         // if this bean is a default bean then all producers are default beans
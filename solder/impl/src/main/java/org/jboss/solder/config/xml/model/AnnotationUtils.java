@@ -30,7 +30,7 @@ import org.jboss.solder.reflection.AnnotationInstanceProvider;
  * @author Stuart Douglas
  */
 class AnnotationUtils {
-    final private static AnnotationInstanceProvider annotationInstanceProvider = new AnnotationInstanceProvider();
+    final private static AnnotationInstanceProvider annotationInstanceProvider = new AnnotationInstanceProvider(true);
 
     @SuppressWarnings("unchecked")
     static Annotation createAnnotation(AnnotationXmlItem item) {
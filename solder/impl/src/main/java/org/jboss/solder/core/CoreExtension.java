@@ -20,13 +20,18 @@ import java.beans.Introspector;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.enterprise.event.Observes;
 import javax.enterprise.inject.Produces;
 import javax.enterprise.inject.spi.AfterBeanDiscovery;
+import javax.enterprise.inject.spi.AfterDeploymentValidation;
 import javax.enterprise.inject.spi.AnnotatedConstructor;
 import javax.enterprise.inject.spi.AnnotatedField;
 import javax.enterprise.inject.spi.AnnotatedMethod;
@@ -35,6 +40,7 @@ import javax.enterprise.inject.spi.AnnotatedType;
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.enterprise.inject.spi.BeforeBeanDiscovery;
+import javax.enterprise.inject.spi.BeforeShutdown;
 import javax.enterprise.inject.spi.Extension;
 import javax.enterprise.inject.spi.ProcessAnnotatedType;
 import javax.inject.Named;
@@ -47,8 +53,10 @@ import org.jboss.solder.core.VersionLoggerUtil;
 import org.jboss.solder.core.Veto;
 import org.jboss.solder.literal.NamedLiteral;
 import org.jboss.solder.properties.Properties;
+import org.jboss.solder.reflection.ReflectionMetadataCache;
 import org.jboss.solder.reflection.Reflections;
 import org.jboss.solder.reflection.annotated.AnnotatedTypeBuilder;
+import org.jboss.solder.reflection.annotated.AnnotatedTypeSummary;
 
 /**
  * Extension to install the "core" extensions. Core extensions are those that
@@ -61,13 +69,30 @@ import org.jboss.solder.reflection.annotated.AnnotatedTypeBuilder;
  * @author Jozef Hartinger
  */
 public class CoreExtension implements Extension {
+    private static final String CLASS_AVAILABLE = "available";
+
     private final Collection<Bean<?>> additionalBeans;
 
+    // class loader -> required class name -> reason it is missing, or CLASS_AVAILABLE
+    private final Map<ClassLoader, Map<String, String>> requiredClassAvailability;
+
+    private final Map<Package, List<String>> packageRequirements;
+
+    private int requiredClassChecks;
+
+    private int requiredClassLoads;
+
+    // class loaders of the deployment's classes, released from the reflection caches on shutdown
+    private final Set<ClassLoader> deploymentClassLoaders;
+
     static final Logger log = Logger.getLogger(CoreExtension.class);
 
     //this must be public for the service loader to work properly
     public CoreExtension() {
         this.additionalBeans = new ArrayList<Bean<?>>();
+        this.requiredClassAvailability = new HashMap<ClassLoader, Map<String, String>>();
+        this.packageRequirements = new HashMap<Package, List<String>>();
+        this.deploymentClassLoaders = new HashSet<ClassLoader>();
     }
 
     void beforeBeanDiscovery(@Observes final BeforeBeanDiscovery bbd) {
@@ -81,6 +106,13 @@ public class CoreExtension implements Extension {
         final Class<X> javaClass = annotatedType.getJavaClass();
         final Package pkg = javaClass.getPackage();
 
+        final ClassLoader classLoader = javaClass.getClassLoader();
+        if (classLoader != null) {
+            synchronized (deploymentClassLoaders) {
+                deploymentClassLoaders.add(classLoader);
+            }
+        }
+
         // Support for @Veto
         if (annotatedType.isAnnotationPresent(Veto.class) || (pkg != null && pkg.isAnnotationPresent(Veto.class))) {
             pat.veto();
@@ -89,31 +121,30 @@ public class CoreExtension implements Extension {
         }
 
         // Support for @Requires
-        Set<String> requiredClasses = new HashSet<String>();
-        // package-level @Requires
+        List<String> missingRequirements = new ArrayList<String>();
+        // package-level @Requires, resolved once per package
         if (pkg != null && pkg.isAnnotationPresent(Requires.class)) {
-            String[] packageRequiredClasses = pkg.getAnnotation(Requires.class).value();
-            requiredClasses.addAll(Arrays.asList(packageRequiredClasses));
+            missingRequirements.addAll(getMissingPackageRequirements(pkg, javaClass.getClassLoader()));
         }
         // class-level @Requires
         if (annotatedType.isAnnotationPresent(Requires.class)) {
-            String[] typeRequiredClasses = annotatedType.getAnnotation(Requires.class).value();
-            requiredClasses.addAll(Arrays.asList(typeRequiredClasses));
-        }
-        if (!requiredClasses.isEmpty()) {
-            for (String i : requiredClasses) {
-                try {
-                    Reflections.classForName(i, javaClass.getClassLoader());
-                } catch (ClassNotFoundException e) {
-                    log.info("Preventing " + javaClass + " from being installed as required class " + i + " could not be found");
-                    pat.veto();
-                } catch (LinkageError e) {
-                    // LinkageError is a superclass of NoClassDefFoundError
-                    log.info("Preventing " + javaClass + " from being installed as a linkage error occurred loading required class " + i + ". The linkage error was " + e.toString());
-                    pat.veto();
+            Set<String> requiredClasses = new LinkedHashSet<String>(Arrays.asList(annotatedType.getAnnotation(Requires.class).value()));
+            if (pkg != null && pkg.isAnnotationPresent(Requires.class)) {
+                requiredClasses.removeAll(Arrays.asList(pkg.getAnnotation(Requires.class).value()));
+            }
+            for (String requiredClass : requiredClasses) {
+                String missing = getMissingRequirement(requiredClass, javaClass.getClassLoader());
+                if (missing != null) {
+                    missingRequirements.add(missing);
                 }
             }
         }
+        if (!missingRequirements.isEmpty()) {
+            for (String missing : missingRequirements) {
+                log.info("Preventing " + javaClass + " from being installed as " + missing);
+            }
+            pat.veto();
+        }
 
         AnnotatedTypeBuilder<X> builder = null;
 
@@ -145,6 +176,13 @@ public class CoreExtension implements Extension {
 
         // support for @Exact fields
         // support for @FullyQualified @Named producer fields
+        final AnnotatedTypeSummary summary = AnnotatedTypeSummary.of(annotatedType);
+        if (!summary.isPresentOnMember(Exact.class) && !summary.isPresentOnMember(Named.class)) {
+            if (builder != null) {
+                pat.setAnnotatedType(builder.create());
+            }
+            return;
+        }
         for (AnnotatedField<? super X> f : annotatedType.getFields()) {
             if (f.isAnnotationPresent(Exact.class)) {
                 Class<?> type = f.getAnnotation(Exact.class).value();
@@ -211,6 +249,84 @@ public class CoreExtension implements Extension {
         }
     }
 
+    void afterDeploymentValidation(@Observes AfterDeploymentValidation adv) {
+        synchronized (requiredClassAvailability) {
+            if (requiredClassChecks > 0) {
+                log.debug("Checked " + requiredClassChecks + " classes required by @Requires, loading " + requiredClassLoads + " of them");
+            }
+            requiredClassAvailability.clear();
+            packageRequirements.clear();
+        }
+    }
+
+    /**
+     * Releases the classes of the deployment from the reflection caches, which
+     * would otherwise keep the deployment's class loaders reachable until the
+     * cached values are cleared under memory pressure.
+     */
+    void beforeShutdown(@Observes BeforeShutdown bs) {
+        synchronized (deploymentClassLoaders) {
+            for (ClassLoader classLoader : deploymentClassLoaders) {
+                ReflectionMetadataCache.clear(classLoader);
+            }
+            deploymentClassLoaders.clear();
+        }
+    }
+
+    /**
+     * Checks the classes required by a package, once per package.
+     *
+     * @return a description of each required class which cannot be loaded
+     */
+    private List<String> getMissingPackageRequirements(Package pkg, ClassLoader classLoader) {
+        synchronized (requiredClassAvailability) {
+            List<String> missing = packageRequirements.get(pkg);
+            if (missing == null) {
+                missing = new ArrayList<String>();
+                for (String requiredClass : new LinkedHashSet<String>(Arrays.asList(pkg.getAnnotation(Requires.class).value()))) {
+                    String reason = getMissingRequirement(requiredClass, classLoader);
+                    if (reason != null) {
+                        missing.add(reason);
+                    }
+                }
+                packageRequirements.put(pkg, missing);
+            }
+            return missing;
+        }
+    }
+
+    /**
+     * Checks whether a required class can be loaded. The outcome is remembered per class loader until the deployment
+     * has been validated, so a class missing from the deployment is only looked for once.
+     *
+     * @return null if the class can be loaded, otherwise a description of why it cannot
+     */
+    private String getMissingRequirement(String requiredClass, ClassLoader classLoader) {
+        synchronized (requiredClassAvailability) {
+            requiredClassChecks++;
+            Map<String, String> availability = requiredClassAvailability.get(classLoader);
+            if (availability == null) {
+                availability = new HashMap<String, String>();
+                requiredClassAvailability.put(classLoader, availability);
+            }
+            String missing = availability.get(requiredClass);
+            if (missing == null) {
+                requiredClassLoads++;
+                try {
+                    Reflections.classForName(requiredClass, classLoader);
+                    missing = CLASS_AVAILABLE;
+                } catch (ClassNotFoundException e) {
+                    missing = "required class " + requiredClass + " could not be found";
+                } catch (LinkageError e) {
+                    // LinkageError is a superclass of NoClassDefFoundError
+                    missing = "a linkage error occurred loading required class " + requiredClass + ". The linkage error was " + e.toString();
+                }
+                availability.put(requiredClass, missing);
+            }
+            return missing == CLASS_AVAILABLE ? null : missing;
+        }
+    }
+
     private void failIfWeldExtensionsDetected(BeanManager beanManager) {
         for (Iterator<Bean<?>> extensions = beanManager.getBeans(Extension.class).iterator(); extensions.hasNext();) {
             if (extensions.next().getBeanClass().getName().equals("org.jboss.weld.extensions.core.CoreExtension")) {
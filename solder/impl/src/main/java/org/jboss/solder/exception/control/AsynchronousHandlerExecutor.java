@@ -0,0 +1,136 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.exception.control;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Inject;
+
+import org.jboss.solder.exception.control.AsynchronousHandlerSettings.RejectionPolicy;
+import org.jboss.solder.exception.control.log.ExceptionHandlerDispatcherLog;
+import org.jboss.solder.logging.Logger;
+
+/**
+ * Bounded executor notifying handlers declared with {@link Handles#async()}. The executor is configured from an
+ * {@link AsynchronousHandlerSettings} bean if one is available, otherwise the defaults are used.
+ */
+@ApplicationScoped
+public class AsynchronousHandlerExecutor {
+    private final ExceptionHandlerDispatcherLog log = Logger.getMessageLogger(ExceptionHandlerDispatcherLog.class,
+            ExceptionHandlerDispatcherLog.class.getPackage().getName());
+
+    @Inject
+    private Instance<AsynchronousHandlerSettings> settingsInstance;
+
+    @Inject
+    private BeanManager beanManager;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        final AsynchronousHandlerSettings settings = this.settingsInstance.isUnsatisfied()
+                ? new AsynchronousHandlerSettings(AsynchronousHandlerSettings.DEFAULT_THREADS,
+                AsynchronousHandlerSettings.DEFAULT_QUEUE_DEPTH, RejectionPolicy.CALLER_RUNS)
+                : this.settingsInstance.get();
+
+        this.executor = new ThreadPoolExecutor(settings.getThreads(), settings.getThreads(), 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(settings.getQueueDepth()), new HandlerThreadFactory(),
+                this.createRejectionHandler(settings.getRejectionPolicy()));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        this.executor.shutdown();
+    }
+
+    /**
+     * Queues the notification of the handler.
+     *
+     * @param handler handler to notify
+     * @param event   snapshot of the exception as the handler was reached
+     */
+    public void submit(final HandlerMethod<?> handler, final CaughtException<?> event) {
+        this.executor.execute(new HandlerNotification(handler, event));
+    }
+
+    private RejectedExecutionHandler createRejectionHandler(final RejectionPolicy policy) {
+        switch (policy) {
+            case DISCARD:
+                return new RejectedExecutionHandler() {
+                    public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+                        log.asyncHandlerRejected(((HandlerNotification) r).handler);
+                    }
+                };
+            case DISCARD_OLDEST:
+                return new RejectedExecutionHandler() {
+                    public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+                        if (!executor.isShutdown()) {
+                            final Runnable oldest = executor.getQueue().poll();
+                            if (oldest != null) {
+                                log.asyncHandlerRejected(((HandlerNotification) oldest).handler);
+                            }
+                            executor.execute(r);
+                        }
+                    }
+                };
+            default:
+                return new ThreadPoolExecutor.CallerRunsPolicy();
+        }
+    }
+
+    private final class HandlerNotification implements Runnable {
+        private final HandlerMethod<?> handler;
+        private final CaughtException<?> event;
+
+        HandlerNotification(HandlerMethod<?> handler, CaughtException<?> event) {
+            this.handler = handler;
+            this.event = event;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public void run() {
+            try {
+                log.notifyingHandler(this.handler);
+                ((HandlerMethod) this.handler).notify(this.event, beanManager);
+            } catch (Throwable t) {
+                log.asyncHandlerFailed(this.handler, t);
+            }
+        }
+    }
+
+    private static final class HandlerThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        public Thread newThread(Runnable r) {
+            final Thread thread = new Thread(r, "solder-async-handler-" + this.threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.exception.control;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.jboss.solder.exception.control.CaughtException.ExceptionHandlingFlow;
+import org.jboss.solder.exception.control.log.ExceptionHandlerDispatcherLog;
+import org.jboss.solder.logging.Logger;
+
+/**
+ * Collects invocation counts, latencies and flow outcomes of the exception dispatcher. Collection is only active if a
+ * {@link DispatchMetricsSettings} bean is available; otherwise {@link #isEnabled()} is false and the dispatcher skips
+ * all timing.
+ */
+@ApplicationScoped
+public class DispatchMetrics implements DispatchMetricsMXBean {
+    private final ExceptionHandlerDispatcherLog log = Logger.getMessageLogger(ExceptionHandlerDispatcherLog.class,
+            ExceptionHandlerDispatcherLog.class.getPackage().getName());
+
+    @Inject
+    private Instance<DispatchMetricsSettings> settingsInstance;
+
+    @Inject
+    private Event<DispatchMetricsSnapshot> snapshotEvent;
+
+    private DispatchMetricsSettings settings;
+
+    private ObjectName objectName;
+
+    private volatile Counters counters = new Counters();
+
+    @PostConstruct
+    void init() {
+        if (this.settingsInstance.isUnsatisfied()) {
+            return;
+        }
+        this.settings = this.settingsInstance.get();
+
+        if (this.settings.isRegisterMBean()) {
+            try {
+                final ObjectName name = new ObjectName(this.settings.getObjectName());
+                ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+                this.objectName = name;
+            } catch (Exception e) {
+                // Most likely another deployment registered its metrics first
+                log.metricsMBeanNotRegistered(this.settings.getObjectName(), e);
+            }
+        }
+    }
+
+    @PreDestroy
+    void destroy() {
+        if (this.objectName != null) {
+            try {
+                final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                if (server.isRegistered(this.objectName)) {
+                    server.unregisterMBean(this.objectName);
+                }
+            } catch (Exception e) {
+                log.metricsMBeanNotUnregistered(this.objectName.toString(), e);
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return this.settings != null;
+    }
+
+    /**
+     * Records a synchronous handler notification.
+     *
+     * @param handler handler which was notified
+     * @param flow    flow outcome the handler returned
+     * @param nanos   time spent in the handler
+     */
+    public void recordHandler(final HandlerMethod<?> handler, final ExceptionHandlingFlow flow, final long nanos) {
+        final Counters current = this.counters;
+        current.flows.incrementAndGet(flow.ordinal());
+        current.getHandlerCounters(handler).record(nanos);
+    }
+
+    /**
+     * Records a completed dispatch and fires a snapshot if the configured interval has been reached.
+     *
+     * @param nanos      time spent dispatching the exception
+     * @param handled    whether the exception ended up marked handled
+     * @param suppressed whether the exception was suppressed as part of an exception storm
+     */
+    public void recordDispatch(final long nanos, final boolean handled, final boolean suppressed) {
+        final Counters current = this.counters;
+        final long dispatches = current.dispatches.incrementAndGet();
+        current.dispatchLatencies.incrementAndGet(DispatchMetricsSnapshot.getLatencyBucket(nanos));
+        if (!handled) {
+            current.unhandled.incrementAndGet();
+        }
+        if (suppressed) {
+            current.suppressed.incrementAndGet();
+        }
+
+        final int interval = this.settings.getSnapshotInterval();
+        if (interval > 0 && dispatches % interval == 0) {
+            this.fireSnapshot();
+        }
+    }
+
+    /**
+     * Copies the current metrics.
+     */
+    public DispatchMetricsSnapshot getSnapshot() {
+        final Counters current = this.counters;
+
+        final Map<String, Long> flowCounts = new HashMap<String, Long>();
+        for (ExceptionHandlingFlow flow : ExceptionHandlingFlow.values()) {
+            flowCounts.put(flow.name(), current.flows.get(flow.ordinal()));
+        }
+
+        final Map<String, DispatchMetricsSnapshot.HandlerStatistics> handlerStatistics =
+                new HashMap<String, DispatchMetricsSnapshot.HandlerStatistics>();
+        for (HandlerCounters handlerCounters : current.handlers.values()) {
+            handlerStatistics.put(handlerCounters.name, handlerCounters.toStatistics());
+        }
+
+        return new DispatchMetricsSnapshot(System.currentTimeMillis(), current.dispatches.get(),
+                current.unhandled.get(), current.suppressed.get(), toArray(current.dispatchLatencies), flowCounts,
+                handlerStatistics);
+    }
+
+    public void fireSnapshot() {
+        this.snapshotEvent.fire(this.getSnapshot());
+    }
+
+    public void reset() {
+        this.counters = new Counters();
+    }
+
+    public long getDispatchCount() {
+        return this.counters.dispatches.get();
+    }
+
+    public long getUnhandledCount() {
+        return this.counters.unhandled.get();
+    }
+
+    public long getSuppressedCount() {
+        return this.counters.suppressed.get();
+    }
+
+    public long[] getLatencyBucketBoundsMicros() {
+        return DispatchMetricsSnapshot.getLatencyBucketBoundsMicros();
+    }
+
+    public long[] getDispatchLatencyHistogram() {
+        return toArray(this.counters.dispatchLatencies);
+    }
+
+    public Map<String, Long> getFlowCounts() {
+        return this.getSnapshot().getFlowCounts();
+    }
+
+    public Map<String, Long> getHandlerInvocationCounts() {
+        final Map<String, Long> counts = new HashMap<String, Long>();
+        for (HandlerCounters handlerCounters : this.counters.handlers.values()) {
+            counts.put(handlerCounters.name, handlerCounters.invocations.get());
+        }
+        return counts;
+    }
+
+    public Map<String, Long> getHandlerMeanLatencyMicros() {
+        final Map<String, Long> means = new HashMap<String, Long>();
+        for (HandlerCounters handlerCounters : this.counters.handlers.values()) {
+            means.put(handlerCounters.name, handlerCounters.toStatistics().getMeanNanos() / 1000L);
+        }
+        return means;
+    }
+
+    public Map<String, long[]> getHandlerLatencyHistograms() {
+        final Map<String, long[]> histograms = new HashMap<String, long[]>();
+        for (HandlerCounters handlerCounters : this.counters.handlers.values()) {
+            histograms.put(handlerCounters.name, toArray(handlerCounters.latencies));
+        }
+        return histograms;
+    }
+
+    private static long[] toArray(final AtomicLongArray array) {
+        final long[] copy = new long[array.length()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = array.get(i);
+        }
+        return copy;
+    }
+
+    private static String nameOf(final HandlerMethod<?> handler) {
+        if (handler instanceof HandlerMethodImpl) {
+            final HandlerMethodImpl<?> impl = (HandlerMethodImpl<?>) handler;
+            return new StringBuilder(impl.getBeanClass().getName()).append('.')
+                    .append(impl.getJavaMethod().getName()).append('(').append(impl.getExceptionType()).append(')')
+                    .append(impl.getQualifiers()).toString();
+        }
+        return handler.toString();
+    }
+
+    /**
+     * Everything collected since startup or the last reset, swapped out as a whole by {@link #reset()}.
+     */
+    private static final class Counters {
+        private final AtomicLong dispatches = new AtomicLong();
+        private final AtomicLong unhandled = new AtomicLong();
+        private final AtomicLong suppressed = new AtomicLong();
+        private final AtomicLongArray dispatchLatencies =
+                new AtomicLongArray(DispatchMetricsSnapshot.getLatencyBucketCount());
+        private final AtomicLongArray flows = new AtomicLongArray(ExceptionHandlingFlow.values().length);
+        private final ConcurrentMap<HandlerMethod<?>, HandlerCounters> handlers =
+                new ConcurrentHashMap<HandlerMethod<?>, HandlerCounters>();
+
+        HandlerCounters getHandlerCounters(final HandlerMethod<?> handler) {
+            HandlerCounters handlerCounters = this.handlers.get(handler);
+            if (handlerCounters == null) {
+                final HandlerCounters newCounters = new HandlerCounters(nameOf(handler));
+                handlerCounters = this.handlers.putIfAbsent(handler, newCounters);
+                if (handlerCounters == null) {
+                    handlerCounters = newCounters;
+                }
+            }
+            return handlerCounters;
+        }
+    }
+
+    private static final class HandlerCounters {
+        private final String name;
+        private final AtomicLong invocations = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLongArray latencies = new AtomicLongArray(DispatchMetricsSnapshot.getLatencyBucketCount());
+
+        HandlerCounters(String name) {
+            this.name = name;
+        }
+
+        void record(final long nanos) {
+            this.invocations.incrementAndGet();
+            this.totalNanos.addAndGet(nanos);
+            this.latencies.incrementAndGet(DispatchMetricsSnapshot.getLatencyBucket(nanos));
+        }
+
+        DispatchMetricsSnapshot.HandlerStatistics toStatistics() {
+            return new DispatchMetricsSnapshot.HandlerStatistics(this.name, this.invocations.get(),
+                    this.totalNanos.get(), toArray(this.latencies));
+        }
+    }
+}
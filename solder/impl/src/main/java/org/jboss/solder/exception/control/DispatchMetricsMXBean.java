@@ -0,0 +1,52 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.exception.control;
+
+import java.util.Map;
+
+/**
+ * JMX view of the exception dispatch metrics, registered under {@link DispatchMetricsSettings#getObjectName()}.
+ */
+public interface DispatchMetricsMXBean {
+    long getDispatchCount();
+
+    long getUnhandledCount();
+
+    long getSuppressedCount();
+
+    long[] getLatencyBucketBoundsMicros();
+
+    long[] getDispatchLatencyHistogram();
+
+    Map<String, Long> getFlowCounts();
+
+    Map<String, Long> getHandlerInvocationCounts();
+
+    Map<String, Long> getHandlerMeanLatencyMicros();
+
+    Map<String, long[]> getHandlerLatencyHistograms();
+
+    /**
+     * Discards everything collected so far.
+     */
+    void reset();
+
+    /**
+     * Fires a {@link DispatchMetricsSnapshot} event with the current metrics.
+     */
+    void fireSnapshot();
+}
@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.exception.control;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Identity of an exception for storm suppression, made of the exception type, its top stack frames and the
+ * qualifiers it was fired with. This class is immutable.
+ */
+final class ExceptionFingerprint {
+    private final Class<? extends Throwable> exceptionType;
+    private final StackTraceElement[] topStackFrames;
+    private final Set<Annotation> qualifiers;
+    private final int hashCode;
+
+    ExceptionFingerprint(final Throwable exception, final Set<Annotation> qualifiers, final int stackFrameDepth) {
+        final StackTraceElement[] stackTrace = exception.getStackTrace();
+
+        this.exceptionType = exception.getClass();
+        this.topStackFrames = Arrays.copyOf(stackTrace, Math.min(stackFrameDepth, stackTrace.length));
+        this.qualifiers = qualifiers.isEmpty() ? Collections.<Annotation>emptySet() : new HashSet<Annotation>(qualifiers);
+
+        int result = this.exceptionType.hashCode();
+        result = 31 * result + Arrays.hashCode(this.topStackFrames);
+        result = 31 * result + this.qualifiers.hashCode();
+        this.hashCode = result;
+    }
+
+    Class<? extends Throwable> getExceptionType() {
+        return this.exceptionType;
+    }
+
+    Set<Annotation> getQualifiers() {
+        return this.qualifiers;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ExceptionFingerprint)) {
+            return false;
+        }
+
+        final ExceptionFingerprint that = (ExceptionFingerprint) o;
+        return this.hashCode == that.hashCode && this.exceptionType == that.exceptionType
+                && Arrays.equals(this.topStackFrames, that.topStackFrames) && this.qualifiers.equals(that.qualifiers);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hashCode;
+    }
+}
@@ -16,6 +16,10 @@
  */
 package org.jboss.solder.exception.control;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 import javax.enterprise.event.ObserverException;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.inject.Inject;
@@ -29,6 +33,23 @@ import javax.interceptor.InvocationContext;
 @Interceptor
 @ExceptionHandled
 public class ExceptionHandledInterceptor {
+    /**
+     * Value returned in place of a primitive result when the invocation failed and the exception was handled.
+     */
+    private static final Map<Class<?>, Object> PRIMITIVE_DEFAULTS;
+
+    static {
+        final Map<Class<?>, Object> defaults = new HashMap<Class<?>, Object>(16);
+        defaults.put(Boolean.TYPE, Boolean.FALSE);
+        defaults.put(Byte.TYPE, (byte) 0);
+        defaults.put(Character.TYPE, '\u0000');
+        defaults.put(Double.TYPE, 0.0d);
+        defaults.put(Float.TYPE, 0.0f);
+        defaults.put(Integer.TYPE, 0);
+        defaults.put(Long.TYPE, 0L);
+        defaults.put(Short.TYPE, (short) 0);
+        PRIMITIVE_DEFAULTS = Collections.unmodifiableMap(defaults);
+    }
 
     @Inject
     private BeanManager bm;
@@ -38,13 +59,13 @@ public class ExceptionHandledInterceptor {
      *
      * @param ctx InvocationContext as defined by the Interceptor Spec.
      * @return value of {@link javax.interceptor.InvocationContext#proceed()}, unless an exception occurs, if the method returns a primitive the value
-     *         will be 0 for int, short, long, float and false for boolean.
+     *         will be 0 for int, short, long, float and false for boolean. Successful invocations always return the
+     *         value of the method.
      */
     @AroundInvoke
     public Object passExceptionsToSolderCatch(final InvocationContext ctx) throws Exception {
-        Object result = null;
         try {
-            result = ctx.proceed();
+            return ctx.proceed();
         } catch (final Throwable e) {
             try {
                 bm.fireEvent(new ExceptionToCatch(e));
@@ -61,17 +82,7 @@ public class ExceptionHandledInterceptor {
             }
         }
 
-        if (ctx.getMethod().getReturnType().equals(Integer.TYPE) || ctx.getMethod().getReturnType().equals(Short.TYPE)
-                || ctx.getMethod().getReturnType().equals(Long.TYPE) || ctx.getMethod().getReturnType().equals(Float.TYPE)
-                || ctx.getMethod().getReturnType().equals(Byte.TYPE) || ctx.getMethod().getReturnType().equals(Double.TYPE))
-            return 0;
-
-        if (ctx.getMethod().getReturnType().equals(Character.TYPE))
-            return '\u0000';
-
-        if (ctx.getMethod().getReturnType().equals(Boolean.TYPE))
-            return false;
-
-        return result;
+        // The exception was handled, the return type only matters now
+        return PRIMITIVE_DEFAULTS.get(ctx.getMethod().getReturnType());
     }
 }
@@ -28,7 +28,7 @@ import org.jboss.solder.exception.control.TraversalMode;
 
 /**
  * Comparator to sort exception handlers according qualifier ({@link TraversalMode#DEPTH_FIRST} first), precedence
- * (highest to lowest) and finally hierarchy (least to most specific).
+ * (highest to lowest), hierarchy (least to most specific) and finally the handler method.
  */
 @SuppressWarnings({"MethodWithMoreThanThreeNegations"})
 public final class ExceptionHandlerComparator implements Comparator<HandlerMethod<?>> {
@@ -46,6 +46,15 @@ public final class ExceptionHandlerComparator implements Comparator<HandlerMetho
         if (lhs.getExceptionType().equals(rhs.getExceptionType())) {
             final int returnValue = this.comparePrecedence(lhs.getPrecedence(), rhs.getPrecedence(),
                     lhs.getTraversalMode() == TraversalMode.DEPTH_FIRST);
+            // Different methods handling the same type with the same precedence, such as a storm safe and a regular
+            // handler in the same bean, are ordered by method so both are kept
+            if (returnValue == 0 && lhs instanceof HandlerMethodImpl && rhs instanceof HandlerMethodImpl) {
+                final int methodCompare = ((HandlerMethodImpl<?>) lhs).getJavaMethod().toString()
+                        .compareTo(((HandlerMethodImpl<?>) rhs).getJavaMethod().toString());
+                if (methodCompare != 0) {
+                    return methodCompare;
+                }
+            }
             // Compare number of qualifiers if they exist so handlers that handle the same type
             // are both are returned and not thrown out (order doesn't really matter)
             if (returnValue == 0 && !lhs.getQualifiers().isEmpty()) {
@@ -17,6 +17,7 @@
 package org.jboss.solder.exception.control;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -53,18 +54,39 @@ public class ExceptionHandlerDispatch implements java.io.Serializable {
      * @param bm             active bean manager
      * @param extension      catch extension instance to obtain handlers
      * @param stackEvent     Event for modifying the exception stack
+     * @param stormDetector  detector deciding if the exception is a repeat within an exception storm
+     * @param asyncExecutor  executor notifying asynchronous handlers
+     * @param metrics        dispatch metrics, only recorded if enabled
      * @throws Throwable If a handler requests the exception to be re-thrown.
      */
     @SuppressWarnings({"unchecked", "MethodWithMultipleLoops", "ThrowableResultOfMethodCallIgnored"})
     public void executeHandlers(@Observes @Any ExceptionToCatch eventException, final BeanManager bm,
-                                CatchExtension extension, Event<ExceptionStack> stackEvent) throws Throwable {
+                                CatchExtension extension, Event<ExceptionStack> stackEvent,
+                                ExceptionStormDetector stormDetector,
+                                AsynchronousHandlerExecutor asyncExecutor,
+                                DispatchMetrics metrics) throws Throwable {
         log.enteringExceptionHandlerDispatcher(eventException.getException());
 
+        // Don't even read the clock unless metrics were asked for
+        final boolean timed = metrics.isEnabled();
+        final long dispatchStart = timed ? System.nanoTime() : 0L;
+
+        // Repeats within an exception storm only reach storm safe handlers
+        final ExceptionFingerprint fingerprint = stormDetector.fingerprint(eventException);
+        final boolean suppressed = fingerprint != null && stormDetector.isSuppressed(fingerprint);
+        if (suppressed) {
+            log.suppressingException(eventException.getException());
+        }
+
         CreationalContext<Object> ctx = null;
         this.exceptionToCatch = eventException;
 
         Throwable throwException = null;
 
+        // Asynchronous handlers are only notified once the flow has been decided
+        final List<HandlerMethod<?>> asyncHandlers = new ArrayList<HandlerMethod<?>>();
+        final List<CaughtException<?>> asyncEvents = new ArrayList<CaughtException<?>>();
+
         try {
             ctx = bm.createCreationalContext(null);
 
@@ -79,17 +101,30 @@ public class ExceptionHandlerDispatch implements java.io.Serializable {
             while (stack.getCurrent() != null) {
                 this.exceptionStack = stack;
 
-                final List<HandlerMethod<?>> breadthFirstHandlerMethods = new ArrayList<HandlerMethod<?>>(
+                final Collection<HandlerMethod<? extends Throwable>> breadthFirstHandlerMethods =
                         extension.getHandlersForExceptionType(stack.getCurrent().getClass(),
-                                bm, eventException.getQualifiers(), TraversalMode.BREADTH_FIRST));
+                                bm, eventException.getQualifiers(), TraversalMode.BREADTH_FIRST);
 
                 for (HandlerMethod<?> handler : breadthFirstHandlerMethods) {
-                    if (!processedHandlers.contains(handler)) {
+                    if (!processedHandlers.contains(handler) && (!suppressed || this.isStormSafe(handler))) {
+                        if (this.isAsync(handler)) {
+                            @SuppressWarnings("rawtypes")
+                            final CaughtException breadthFirstAsyncEvent = new CaughtException(new ExceptionStack(stack), true, eventException.isHandled());
+                            asyncHandlers.add(handler);
+                            asyncEvents.add(breadthFirstAsyncEvent);
+                            processedHandlers.add(handler);
+                            continue;
+                        }
+
                         log.notifyingHandler(handler);
 
                         @SuppressWarnings("rawtypes")
                         final CaughtException breadthFirstEvent = new CaughtException(stack, true, eventException.isHandled());
+                        final long handlerStart = timed ? System.nanoTime() : 0L;
                         handler.notify(breadthFirstEvent, bm);
+                        if (timed) {
+                            metrics.recordHandler(handler, breadthFirstEvent.getFlow(), System.nanoTime() - handlerStart);
+                        }
 
                         log.returnFromHandler(handler, breadthFirstEvent.getFlow().name());
 
@@ -127,12 +162,25 @@ public class ExceptionHandlerDispatch implements java.io.Serializable {
                 Collections.reverse(depthFirstHandlerMethods);
 
                 for (HandlerMethod<?> handler : depthFirstHandlerMethods) {
-                    if (!processedHandlers.contains(handler)) {
+                    if (!processedHandlers.contains(handler) && (!suppressed || this.isStormSafe(handler))) {
+                        if (this.isAsync(handler)) {
+                            @SuppressWarnings("rawtypes")
+                            final CaughtException depthFirstAsyncEvent = new CaughtException(new ExceptionStack(stack), false, eventException.isHandled());
+                            asyncHandlers.add(handler);
+                            asyncEvents.add(depthFirstAsyncEvent);
+                            processedHandlers.add(handler);
+                            continue;
+                        }
+
                         log.notifyingHandler(handler);
 
                         @SuppressWarnings("rawtypes")
                         final CaughtException depthFirstEvent = new CaughtException(stack, false, eventException.isHandled());
+                        final long handlerStart = timed ? System.nanoTime() : 0L;
                         handler.notify(depthFirstEvent, bm);
+                        if (timed) {
+                            metrics.recordHandler(handler, depthFirstEvent.getFlow(), System.nanoTime() - handlerStart);
+                        }
 
                         log.returnFromHandler(handler, depthFirstEvent.getFlow().name());
 
@@ -164,6 +212,12 @@ public class ExceptionHandlerDispatch implements java.io.Serializable {
                 this.exceptionStack.dropCause();
             }
 
+            // A repeat ends like the exception it repeats, whose handlers it skipped
+            if (suppressed && !eventException.isHandled() && throwException == null
+                    && stormDetector.wasHandled(fingerprint)) {
+                eventException.setHandled(true);
+            }
+
             if (!eventException.isHandled() && throwException == null) {
                 log.noHandlersFound(eventException.getException());
                 throw eventException.getException();
@@ -173,14 +227,34 @@ public class ExceptionHandlerDispatch implements java.io.Serializable {
                 throw throwException;
             }
         } finally {
+            for (int i = 0; i < asyncHandlers.size(); i++) {
+                asyncExecutor.submit(asyncHandlers.get(i), asyncEvents.get(i));
+            }
+
             if (ctx != null) {
                 ctx.release();
             }
+
+            if (fingerprint != null && !suppressed && eventException.isHandled() && throwException == null) {
+                stormDetector.recordHandled(fingerprint);
+            }
+
+            if (timed) {
+                metrics.recordDispatch(System.nanoTime() - dispatchStart, eventException.isHandled(), suppressed);
+            }
         }
 
         log.endingExceptionHandlerDispatcher(exceptionToCatch.getException());
     }
 
+    private boolean isStormSafe(HandlerMethod<?> handler) {
+        return handler instanceof HandlerMethodImpl && ((HandlerMethodImpl<?>) handler).isStormSafe();
+    }
+
+    private boolean isAsync(HandlerMethod<?> handler) {
+        return handler instanceof HandlerMethodImpl && ((HandlerMethodImpl<?>) handler).isAsync();
+    }
+
     @Produces
     @ConversationScoped
     @Named("handledException")
@@ -0,0 +1,164 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.exception.control;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+
+/**
+ * Tracks recently dispatched exceptions and decides which ones are repeats within an exception storm. Suppression is
+ * only active if an {@link ExceptionStormSuppression} bean is available, otherwise no exception is ever suppressed.
+ */
+@ApplicationScoped
+public class ExceptionStormDetector {
+    @Inject
+    private Instance<ExceptionStormSuppression> suppressionInstance;
+
+    @Inject
+    private Event<ExceptionStormSummary> summaryEvent;
+
+    private ExceptionStormSuppression suppression;
+
+    private final ConcurrentMap<ExceptionFingerprint, StormWindow> windows =
+            new ConcurrentHashMap<ExceptionFingerprint, StormWindow>();
+
+    @PostConstruct
+    void init() {
+        if (!this.suppressionInstance.isUnsatisfied()) {
+            this.suppression = this.suppressionInstance.get();
+        }
+    }
+
+    public boolean isEnabled() {
+        return this.suppression != null;
+    }
+
+    /**
+     * Records the given exception and determines whether it repeats an exception seen within the current window.
+     * If this exception opens a new window and the previous window suppressed exceptions, an
+     * {@link ExceptionStormSummary} is fired for it.
+     *
+     * @param exceptionToCatch exception about to be dispatched
+     * @return true if handlers not declared storm safe should be skipped for this exception
+     */
+    public boolean isSuppressed(final ExceptionToCatch exceptionToCatch) {
+        final ExceptionFingerprint fingerprint = this.fingerprint(exceptionToCatch);
+        return fingerprint != null && this.isSuppressed(fingerprint);
+    }
+
+    /**
+     * @return the fingerprint of the given exception, or null if suppression is not enabled
+     */
+    ExceptionFingerprint fingerprint(final ExceptionToCatch exceptionToCatch) {
+        if (this.suppression == null) {
+            return null;
+        }
+        return new ExceptionFingerprint(exceptionToCatch.getException(), exceptionToCatch.getQualifiers(),
+                this.suppression.getStackFrameDepth());
+    }
+
+    boolean isSuppressed(final ExceptionFingerprint fingerprint) {
+        final long now = System.currentTimeMillis();
+
+        while (true) {
+            final StormWindow window = this.windows.get(fingerprint);
+
+            if (window != null && !window.isExpired(now)) {
+                window.suppressed.incrementAndGet();
+                return true;
+            }
+
+            final StormWindow newWindow = new StormWindow(now, this.suppression.getWindowMillis());
+            if (window == null) {
+                if (this.windows.putIfAbsent(fingerprint, newWindow) == null) {
+                    this.purgeExpiredWindows(now);
+                    return false;
+                }
+            } else if (this.windows.replace(fingerprint, window, newWindow)) {
+                this.fireSummary(fingerprint, window);
+                return false;
+            }
+            // Another thread opened the window first, try again
+        }
+    }
+
+    /**
+     * Remembers that the exception which opened the current window of the fingerprint was handled, so repeats
+     * within the window, which skip the handlers that handled it, end the same way.
+     */
+    void recordHandled(final ExceptionFingerprint fingerprint) {
+        final StormWindow window = this.windows.get(fingerprint);
+        if (window != null) {
+            window.handled = true;
+        }
+    }
+
+    /**
+     * @return true if the exception which opened the current window of the fingerprint has been handled
+     */
+    boolean wasHandled(final ExceptionFingerprint fingerprint) {
+        final StormWindow window = this.windows.get(fingerprint);
+        return window != null && window.handled;
+    }
+
+    private void fireSummary(final ExceptionFingerprint fingerprint, final StormWindow window) {
+        final int suppressed = window.suppressed.get();
+        if (suppressed > 0) {
+            this.summaryEvent.fire(new ExceptionStormSummary(fingerprint.getExceptionType(),
+                    fingerprint.getQualifiers(), suppressed, window.start, window.end));
+        }
+    }
+
+    private void purgeExpiredWindows(final long now) {
+        if (this.windows.size() <= this.suppression.getMaxFingerprints()) {
+            return;
+        }
+
+        final Iterator<Map.Entry<ExceptionFingerprint, StormWindow>> entries = this.windows.entrySet().iterator();
+        while (entries.hasNext()) {
+            final Map.Entry<ExceptionFingerprint, StormWindow> entry = entries.next();
+            if (entry.getValue().isExpired(now) && this.windows.remove(entry.getKey(), entry.getValue())) {
+                this.fireSummary(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private static final class StormWindow {
+        private final long start;
+        private final long end;
+        private final AtomicInteger suppressed = new AtomicInteger();
+        private volatile boolean handled;
+
+        StormWindow(long start, long length) {
+            this.start = start;
+            this.end = start + length;
+        }
+
+        boolean isExpired(long now) {
+            return now >= this.end;
+        }
+    }
+}
@@ -26,6 +26,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
+import javax.enterprise.context.Dependent;
 import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.inject.spi.AnnotatedMethod;
 import javax.enterprise.inject.spi.AnnotatedParameter;
@@ -36,7 +37,7 @@ import javax.enterprise.inject.spi.InjectionPoint;
 import org.jboss.solder.bean.Beans;
 import org.jboss.solder.bean.ImmutableInjectionPoint;
 import org.jboss.solder.literal.AnyLiteral;
-import org.jboss.solder.reflection.annotated.InjectableMethod;
+import org.jboss.solder.reflection.MethodInvoker;
 import org.jboss.solder.exception.control.CaughtException;
 import org.jboss.solder.exception.control.HandlerMethod;
 import org.jboss.solder.exception.control.Handles;
@@ -49,15 +50,19 @@ import org.jboss.solder.exception.control.TraversalMode;
  */
 public class HandlerMethodImpl<T extends Throwable> implements HandlerMethod<T> {
     private final Class<?> beanClass;
-    private Bean<?> bean;
+    private volatile Bean<?> bean;
     private final Set<Annotation> qualifiers;
     private final Type exceptionType;
     private final AnnotatedMethod<?> handler;
     private final TraversalMode traversalMode;
     private final int precedence;
+    private final boolean stormSafe;
+    private final boolean async;
     private final Method javaMethod;
+    private final MethodInvoker invoker;
     private final AnnotatedParameter<?> handlerParameter;
     private final Set<InjectionPoint> injectionPoints;
+    private final InjectionPoint[] parameterInjectionPoints;
 
     /**
      * Determines if the given method is a handler by looking for the {@link Handles} annotation on a parameter.
@@ -113,6 +118,7 @@ public class HandlerMethodImpl<T extends Throwable> implements HandlerMethod<T>
 
         this.handler = method;
         this.javaMethod = method.getJavaMember();
+        this.invoker = new MethodInvoker(this.javaMethod, true);
 
         this.handlerParameter = findHandlerParameter(method);
 
@@ -122,6 +128,8 @@ public class HandlerMethodImpl<T extends Throwable> implements HandlerMethod<T>
 
         this.traversalMode = this.handlerParameter.getAnnotation(Handles.class).during();
         this.precedence = this.handlerParameter.getAnnotation(Handles.class).precedence();
+        this.stormSafe = this.handlerParameter.getAnnotation(Handles.class).stormSafe();
+        this.async = this.handlerParameter.getAnnotation(Handles.class).async();
         tmpQualifiers.addAll(Beans.getQualifiers(bm, this.handlerParameter.getAnnotations()));
 
         if (tmpQualifiers.isEmpty()) {
@@ -132,10 +140,14 @@ public class HandlerMethodImpl<T extends Throwable> implements HandlerMethod<T>
         this.beanClass = method.getJavaMember().getDeclaringClass();
         this.exceptionType = ((ParameterizedType) this.handlerParameter.getBaseType()).getActualTypeArguments()[0];
         this.injectionPoints = new HashSet<InjectionPoint>(method.getParameters().size() - 1);
+        this.parameterInjectionPoints = new InjectionPoint[method.getParameters().size()];
 
         for (AnnotatedParameter<?> param : method.getParameters()) {
-            if (!param.equals(this.handlerParameter))
-                this.injectionPoints.add(new ImmutableInjectionPoint(param, bm, this.getBean(bm), false, false));
+            if (!param.equals(this.handlerParameter)) {
+                final InjectionPoint ip = new ImmutableInjectionPoint(param, bm, this.getBean(bm), false, false);
+                this.injectionPoints.add(ip);
+                this.parameterInjectionPoints[param.getPosition()] = ip;
+            }
         }
     }
 
@@ -149,11 +161,13 @@ public class HandlerMethodImpl<T extends Throwable> implements HandlerMethod<T>
     /**
      * {@inheritDoc}
      */
-    public synchronized Bean<?> getBean(BeanManager bm) {
-        if (this.bean == null) {
-            this.bean = bm.resolve(bm.getBeans(this.beanClass));
+    public Bean<?> getBean(BeanManager bm) {
+        Bean<?> resolvedBean = this.bean;
+        if (resolvedBean == null) {
+            resolvedBean = bm.resolve(bm.getBeans(this.beanClass));
+            this.bean = resolvedBean;
         }
-        return this.bean;
+        return resolvedBean;
     }
 
     /**
@@ -172,25 +186,34 @@ public class HandlerMethodImpl<T extends Throwable> implements HandlerMethod<T>
 
     /**
      * {@inheritDoc}
+     * <p/>
+     * The injection points of the handler are created once, when the handler is found. A single
+     * {@link CreationalContext} is used for the handler instance and all of its additional parameters, and it is only
+     * released if it may hold dependent objects.
      */
     public void notify(final CaughtException<T> event, final BeanManager bm) {
-        CreationalContext<?> ctx = null;
+        final Bean<?> handlerBean = this.getBean(bm);
+        final CreationalContext<?> ctx = bm.createCreationalContext(null);
         try {
-            ctx = bm.createCreationalContext(null);
-            Object handlerInstance = bm.getReference(this.getBean(bm), this.beanClass, ctx);
-            InjectableMethod<?> im = createInjectableMethod(this.handler, this.getBean(bm), bm);
-            im.invoke(handlerInstance, ctx, new OutboundParameterValueRedefiner(event, bm, this));
+            final Object handlerInstance = bm.getReference(handlerBean, this.beanClass, ctx);
+            final Object[] parameterValues = new Object[this.parameterInjectionPoints.length];
+
+            for (int i = 0; i < parameterValues.length; i++) {
+                if (this.parameterInjectionPoints[i] == null) {
+                    parameterValues[i] = event;
+                } else {
+                    parameterValues[i] = bm.getInjectableReference(this.parameterInjectionPoints[i], ctx);
+                }
+            }
+
+            this.invoker.invoke(handlerInstance, parameterValues);
         } finally {
-            if (ctx != null) {
+            if (!this.injectionPoints.isEmpty() || Dependent.class.equals(handlerBean.getScope())) {
                 ctx.release();
             }
         }
     }
 
-    private <X> InjectableMethod<X> createInjectableMethod(AnnotatedMethod<X> handlerMethod, Bean<?> bean, BeanManager manager) {
-        return new InjectableMethod<X>(handlerMethod, bean, manager);
-    }
-
     /**
      * {@inheritDoc}
      */
@@ -205,6 +228,24 @@ public class HandlerMethodImpl<T extends Throwable> implements HandlerMethod<T>
         return this.precedence;
     }
 
+    /**
+     * Indicates the handler is called for exceptions suppressed during an exception storm.
+     *
+     * @see Handles#stormSafe()
+     */
+    public boolean isStormSafe() {
+        return this.stormSafe;
+    }
+
+    /**
+     * Indicates the handler is notified on a separate thread after the handling flow has been decided.
+     *
+     * @see Handles#async()
+     */
+    public boolean isAsync() {
+        return this.async;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -229,8 +270,14 @@ public class HandlerMethodImpl<T extends Throwable> implements HandlerMethod<T>
             return false;
         }
 
-        HandlerMethod<?> that = (HandlerMethod<?>) o;
+        HandlerMethodImpl<?> that = (HandlerMethodImpl<?>) o;
 
+        if (!beanClass.equals(that.beanClass)) {
+            return false;
+        }
+        if (!javaMethod.equals(that.javaMethod)) {
+            return false;
+        }
         if (!qualifiers.equals(that.getQualifiers())) {
             return false;
         }
@@ -253,7 +300,6 @@ public class HandlerMethodImpl<T extends Throwable> implements HandlerMethod<T>
         result = 5 * result + traversalMode.hashCode();
         result = 5 * result + precedence;
         result = 5 * result + javaMethod.hashCode();
-        result = 5 * result + handlerParameter.hashCode();
         return result;
     }
 
@@ -20,14 +20,18 @@ package org.jboss.solder.exception.control.extension;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.enterprise.event.Observes;
 import javax.enterprise.inject.InjectionException;
@@ -47,10 +51,12 @@ import org.jboss.solder.literal.AnyLiteral;
 import org.jboss.solder.logging.Logger;
 import org.jboss.solder.reflection.AnnotationInspector;
 import org.jboss.solder.reflection.HierarchyDiscovery;
+import org.jboss.solder.reflection.annotated.AnnotatedTypeSummary;
 import org.jboss.solder.exception.control.ExceptionHandlerComparator;
 import org.jboss.solder.exception.control.HandlerMethod;
 import org.jboss.solder.exception.control.HandlerMethodContainer;
 import org.jboss.solder.exception.control.HandlerMethodImpl;
+import org.jboss.solder.exception.control.Handles;
 import org.jboss.solder.exception.control.HandlesExceptions;
 import org.jboss.solder.exception.control.TraversalMode;
 
@@ -59,12 +65,23 @@ import org.jboss.solder.exception.control.TraversalMode;
  */
 @SuppressWarnings("unchecked")
 public class CatchExtension implements Extension, HandlerMethodContainer {
-    private final Map<? super Type, Collection<HandlerMethod<? extends Throwable>>> allHandlers;
+    /**
+     * Id of {@link AnyLiteral#INSTANCE}, a handler with this bit set is notified regardless of qualifiers.
+     */
+    private static final int ANY_QUALIFIER_ID = 0;
+
+    private static final BitSet NO_QUALIFIERS = new BitSet();
+
+    /**
+     * Registered handlers. Registering a handler publishes a new snapshot, so dispatching threads never see a
+     * snapshot being changed and never cache handlers resolved against a stale one.
+     */
+    private volatile Handlers handlers;
 
     private final CatchExtensionLog log = Logger.getMessageLogger(CatchExtensionLog.class, CatchExtension.class.getPackage().getName());
 
     public CatchExtension() {
-        this.allHandlers = new HashMap<Type, Collection<HandlerMethod<? extends Throwable>>>();
+        this.handlers = new Handlers();
     }
 
     /**
@@ -87,6 +104,10 @@ public class CatchExtension implements Extension, HandlerMethodContainer {
 
         final AnnotatedType<T> type = (AnnotatedType<T>) pmb.getAnnotated();
 
+        if (!AnnotatedTypeSummary.of(type).isPresentOnMember(Handles.class)) {
+            return;
+        }
+
         if (AnnotationInspector.isAnnotationPresent(type, HandlesExceptions.class, bm)) {
             final Set<AnnotatedMethod<? super T>> methods = type.getMethods();
 
@@ -106,14 +127,20 @@ public class CatchExtension implements Extension, HandlerMethodContainer {
     }
 
     /**
-     * Verifies all injection points for every handler are valid.
+     * Verifies all injection points for every handler are valid. The bean declaring each handler is resolved here as
+     * well, so dispatching an exception never has to resolve it.
      *
      * @param adv Lifecycle event
      * @param bm  BeanManager instance
      */
     public void verifyInjectionPoints(@Observes final AfterDeploymentValidation adv, final BeanManager bm) {
-        for (Map.Entry<? super Type, Collection<HandlerMethod<? extends Throwable>>> entry : this.allHandlers.entrySet()) {
+        for (Map.Entry<Type, Collection<HandlerMethod<? extends Throwable>>> entry : this.handlers.allHandlers.entrySet()) {
             for (HandlerMethod<? extends Throwable> handler : entry.getValue()) {
+                try {
+                    ((HandlerMethodImpl<? extends Throwable>) handler).getBean(bm);
+                } catch (InjectionException e) {
+                    adv.addDeploymentProblem(e);
+                }
                 for (InjectionPoint ip : ((HandlerMethodImpl<? extends Throwable>) handler).getInjectionPoints()) {
                     try {
                         bm.validate(ip);
@@ -127,7 +154,8 @@ public class CatchExtension implements Extension, HandlerMethodContainer {
 
     /**
      * Obtains the applicable handlers for the given type or super type of the given type.  Also makes use of {@link
-     * org.jboss.solder.exception.control.ExceptionHandlerComparator} to order the handlers.
+     * org.jboss.solder.exception.control.ExceptionHandlerComparator} to order the handlers. The result is resolved once
+     * per exception type, traversal mode and set of qualifiers, subsequent calls return the same immutable collection.
      *
      * @param exceptionClass    Type of exception to narrow handler list
      * @param bm                active BeanManager
@@ -138,47 +166,167 @@ public class CatchExtension implements Extension, HandlerMethodContainer {
     public Collection<HandlerMethod<? extends Throwable>> getHandlersForExceptionType(Type exceptionClass, BeanManager bm,
                                                                                       Set<Annotation> handlerQualifiers,
                                                                                       TraversalMode traversalMode) {
-        final Collection<HandlerMethod<? extends Throwable>> returningHandlers = new TreeSet<HandlerMethod<? extends Throwable>>(new ExceptionHandlerComparator());
-        final HierarchyDiscovery h = new HierarchyDiscovery(exceptionClass);
-        final Set<Type> closure = h.getTypeClosure();
-
-        for (Type hierarchyType : closure) {
-            if (this.allHandlers.get(hierarchyType) != null) {
-                for (HandlerMethod<?> handler : this.allHandlers.get(hierarchyType)) {
-                    if (handler.getTraversalMode() == traversalMode) {
-                        if (handler.getQualifiers().contains(AnyLiteral.INSTANCE)) {
-                            returningHandlers.add(handler);
-                        } else {
-                            if (!handlerQualifiers.isEmpty() && this.containsAny(handler.getQualifiers(), handlerQualifiers)) {
-                                returningHandlers.add(handler);
+        final Handlers handlers = this.handlers;
+        final BitSet qualifierBits = handlers.toQualifierBits(handlerQualifiers);
+        final ResolvedHandlersKey key = new ResolvedHandlersKey(exceptionClass, traversalMode, qualifierBits);
+        Collection<HandlerMethod<? extends Throwable>> returningHandlers = handlers.resolvedHandlers.get(key);
+        if (returningHandlers == null) {
+            returningHandlers = handlers.resolveHandlers(exceptionClass, qualifierBits, traversalMode);
+            handlers.resolvedHandlers.put(key, returningHandlers);
+        }
+
+        log.foundHandlers(returningHandlers, exceptionClass, handlerQualifiers, traversalMode);
+        return returningHandlers;
+    }
+
+    @Override
+    public synchronized <T extends Throwable> void registerHandlerMethod(HandlerMethod<T> handlerMethod) {
+        log.addingHandler(handlerMethod);
+        this.handlers = new Handlers(this.handlers, handlerMethod);
+    }
+
+    /**
+     * Snapshot of the registered handlers, never modified once published.
+     */
+    private static final class Handlers {
+        private final Map<Type, Collection<HandlerMethod<? extends Throwable>>> allHandlers;
+
+        /**
+         * Every qualifier declared by a registered handler, interned to a small integer id at deployment.
+         */
+        private final Map<Annotation, Integer> qualifierIds;
+
+        /**
+         * Qualifier ids of each registered handler, so qualifier matching is a bitwise operation instead of comparing
+         * annotation instances.
+         */
+        private final Map<HandlerMethod<?>, BitSet> handlerQualifierBits;
+
+        /**
+         * Resolved, ordered handlers keyed by exception type, traversal mode and qualifiers. Registering a handler
+         * starts over with an empty cache in the new snapshot.
+         */
+        private final ConcurrentMap<ResolvedHandlersKey, Collection<HandlerMethod<? extends Throwable>>> resolvedHandlers =
+                new ConcurrentHashMap<ResolvedHandlersKey, Collection<HandlerMethod<? extends Throwable>>>();
+
+        Handlers() {
+            this.allHandlers = Collections.emptyMap();
+            this.qualifierIds = Collections.<Annotation, Integer>singletonMap(AnyLiteral.INSTANCE, ANY_QUALIFIER_ID);
+            this.handlerQualifierBits = Collections.emptyMap();
+        }
+
+        /**
+         * Copies the previous snapshot and adds the given handler. Handler sets other than the one the handler is added
+         * to are shared with the previous snapshot, they are not modified.
+         */
+        Handlers(Handlers previous, HandlerMethod<? extends Throwable> handlerMethod) {
+            this.allHandlers = new HashMap<Type, Collection<HandlerMethod<? extends Throwable>>>(previous.allHandlers);
+            this.qualifierIds = new HashMap<Annotation, Integer>(previous.qualifierIds);
+            this.handlerQualifierBits = new IdentityHashMap<HandlerMethod<?>, BitSet>(previous.handlerQualifierBits);
+
+            this.handlerQualifierBits.put(handlerMethod, this.internQualifiers(handlerMethod.getQualifiers()));
+            final Collection<HandlerMethod<? extends Throwable>> previousHandlers = previous.allHandlers.get(handlerMethod.getExceptionType());
+            final Collection<HandlerMethod<? extends Throwable>> typeHandlers = previousHandlers == null
+                    ? new HashSet<HandlerMethod<? extends Throwable>>()
+                    : new HashSet<HandlerMethod<? extends Throwable>>(previousHandlers);
+            typeHandlers.add(handlerMethod);
+            this.allHandlers.put(handlerMethod.getExceptionType(), typeHandlers);
+        }
+
+        private Collection<HandlerMethod<? extends Throwable>> resolveHandlers(Type exceptionClass,
+                                                                               BitSet qualifierBits,
+                                                                               TraversalMode traversalMode) {
+            final Collection<HandlerMethod<? extends Throwable>> sortedHandlers = new TreeSet<HandlerMethod<? extends Throwable>>(new ExceptionHandlerComparator());
+            final HierarchyDiscovery h = new HierarchyDiscovery(exceptionClass);
+            final Set<Type> closure = h.getTypeClosure();
+
+            for (Type hierarchyType : closure) {
+                if (this.allHandlers.get(hierarchyType) != null) {
+                    for (HandlerMethod<?> handler : this.allHandlers.get(hierarchyType)) {
+                        if (handler.getTraversalMode() == traversalMode) {
+                            final BitSet handlerBits = this.handlerQualifierBits.get(handler);
+                            if (handlerBits.get(ANY_QUALIFIER_ID) || handlerBits.intersects(qualifierBits)) {
+                                sortedHandlers.add(handler);
                             }
                         }
                     }
                 }
             }
+
+            return Collections.unmodifiableList(new ArrayList<HandlerMethod<? extends Throwable>>(sortedHandlers));
         }
 
-        log.foundHandlers(returningHandlers, exceptionClass, handlerQualifiers, traversalMode);
-        return Collections.unmodifiableCollection(returningHandlers);
+        /**
+         * Looks up the ids of the given qualifiers. Qualifiers no handler declares are left out, they cannot match
+         * anything.
+         */
+        private BitSet toQualifierBits(final Set<Annotation> qualifiers) {
+            if (qualifiers.isEmpty()) {
+                return NO_QUALIFIERS;
+            }
+
+            final BitSet bits = new BitSet();
+            for (Annotation qualifier : qualifiers) {
+                final Integer id = this.qualifierIds.get(qualifier);
+                if (id != null) {
+                    bits.set(id);
+                }
+            }
+            return bits;
+        }
+
+        private BitSet internQualifiers(final Set<Annotation> qualifiers) {
+            final BitSet bits = new BitSet();
+            for (Annotation qualifier : qualifiers) {
+                Integer id = this.qualifierIds.get(qualifier);
+                if (id == null) {
+                    id = this.qualifierIds.size();
+                    this.qualifierIds.put(qualifier, id);
+                }
+                bits.set(id);
+            }
+            return bits;
+        }
     }
 
-    private boolean containsAny(final Collection<? extends Annotation> haystack,
-                                final Collection<? extends Annotation> needles) {
-        for (Annotation a : needles) {
-            if (haystack.contains(a)) {
+    /**
+     * Key of the resolved handler cache. Qualifiers are held as interned ids, the bits are never modified once the key
+     * is created.
+     */
+    private static final class ResolvedHandlersKey {
+        private final Type exceptionType;
+        private final TraversalMode traversalMode;
+        private final BitSet qualifiers;
+        private final int hashCode;
+
+        ResolvedHandlersKey(Type exceptionType, TraversalMode traversalMode, BitSet qualifiers) {
+            this.exceptionType = exceptionType;
+            this.traversalMode = traversalMode;
+            this.qualifiers = qualifiers;
+
+            int result = exceptionType.hashCode();
+            result = 31 * result + traversalMode.hashCode();
+            result = 31 * result + this.qualifiers.hashCode();
+            this.hashCode = result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
                 return true;
             }
+            if (!(o instanceof ResolvedHandlersKey)) {
+                return false;
+            }
+
+            final ResolvedHandlersKey that = (ResolvedHandlersKey) o;
+            return this.hashCode == that.hashCode && this.traversalMode == that.traversalMode
+                    && this.exceptionType.equals(that.exceptionType) && this.qualifiers.equals(that.qualifiers);
         }
-        return false;
-    }
 
-    @Override
-    public <T extends Throwable> void registerHandlerMethod(HandlerMethod<T> handlerMethod) {
-        log.addingHandler(handlerMethod);
-        if (this.allHandlers.containsKey(handlerMethod.getExceptionType())) {
-            this.allHandlers.get(handlerMethod.getExceptionType()).add(handlerMethod);
-        } else {
-            this.allHandlers.put(handlerMethod.getExceptionType(), new HashSet<HandlerMethod<? extends Throwable>>(Arrays.asList(handlerMethod)));
+        @Override
+        public int hashCode() {
+            return this.hashCode;
         }
     }
 }
@@ -21,6 +21,7 @@ import org.jboss.solder.exception.control.HandlerMethod;
 import org.jboss.solder.logging.Log;
 import org.jboss.solder.logging.Logger;
 import org.jboss.solder.logging.MessageLogger;
+import org.jboss.solder.messages.Cause;
 import org.jboss.solder.messages.Message;
 
 /**
@@ -41,6 +42,21 @@ public interface ExceptionHandlerDispatcherLog {
     @Log(level = Logger.Level.TRACE) @Message("Ending exception handling for exception %s")
     void endingExceptionHandlerDispatcher(Throwable exceptionCaught);
 
+    @Log(level = Logger.Level.DEBUG) @Message("Exception %s repeats within an exception storm, only notifying storm safe handlers")
+    void suppressingException(Throwable exceptionCaught);
+
     @Log(level = Logger.Level.WARN) @Message("No handlers found for exception %s")
     void noHandlersFound(Throwable e);
+
+    @Log(level = Logger.Level.WARN) @Message("Asynchronous handler %s failed")
+    void asyncHandlerFailed(HandlerMethod<?> handler, @Cause Throwable t);
+
+    @Log(level = Logger.Level.WARN) @Message("Asynchronous handler queue is full, discarding notification of handler %s")
+    void asyncHandlerRejected(HandlerMethod<?> handler);
+
+    @Log(level = Logger.Level.WARN) @Message("Could not register exception dispatch metrics as %s")
+    void metricsMBeanNotRegistered(String objectName, @Cause Throwable t);
+
+    @Log(level = Logger.Level.WARN) @Message("Could not unregister exception dispatch metrics %s")
+    void metricsMBeanNotUnregistered(String objectName, @Cause Throwable t);
 }
@@ -16,11 +16,14 @@
  */
 package org.jboss.solder.exception.filter;
 
-import java.text.MessageFormat;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.jboss.solder.exception.control.ExceptionStack;
 import org.jboss.solder.exception.control.ExceptionStackItem;
@@ -32,17 +35,34 @@ import org.jboss.solder.exception.filter.StackFrameFilter;
  * way, meaning the stack is unwrapped and the root cause is printed first followed by the next exception that wrapped
  * the root cause. This class is immutable.
  * <p/>
- * It may also make use of {@link StackFrameFilter} instances to filter the stack trace output.
+ * It may also make use of {@link StackFrameFilter} instances to filter the stack trace output. The trace may either be
+ * returned as a string or streamed to any {@link Appendable} (a {@link java.io.Writer}, a log appender buffer, a
+ * servlet response writer) using {@link #printTrace(Appendable)}.
  */
 public class ExceptionStackOutput<T extends Throwable> {
     private final Deque<ExceptionStackItem> exceptionStackItems;
     private final StackFrameFilter<T> filter;
+    private final boolean cacheFrameText;
 
     // TODO: Really needs to be a properties file or something
     public static final String ROOT_CAUSE_TEXT = new StringBuilder("Root exception {0}").append(System.getProperty("line.separator")).toString();
     public static final String AT_TEXT = new StringBuilder("\t at {0}").append(System.getProperty("line.separator")).toString();
     public static final String WRAPPED_BY_TEXT = new StringBuilder("Wrapped within {0} and re-thrown").append(System.getProperty("line.separator")).toString();
 
+    /**
+     * Maximum number of rendered frames kept by the frame text cache before it is reset.
+     */
+    public static final int MAX_CACHED_FRAMES = 2048;
+
+    // Pre-split versions of the templates above, so frames can be appended without a MessageFormat per line
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+    private static final String ROOT_CAUSE_PREFIX = "Root exception ";
+    private static final String AT_PREFIX = "\t at ";
+    private static final String WRAPPED_BY_PREFIX = "Wrapped within ";
+    private static final String WRAPPED_BY_SUFFIX = " and re-thrown";
+
+    private static final ConcurrentMap<StackTraceElement, String> FRAME_TEXT_CACHE = new ConcurrentHashMap<StackTraceElement, String>();
+
     /**
      * Constructor to be used if not filtering is desired.
      *
@@ -59,8 +79,21 @@ public class ExceptionStackOutput<T extends Throwable> {
      * @param filter    a {@link StackFrameFilter} instance used to do the filtering
      */
     public ExceptionStackOutput(final T exception, final StackFrameFilter<T> filter) {
+        this(exception, filter, false);
+    }
+
+    /**
+     * Constructor which includes filtering and, optionally, caching of rendered frame text. Caching pays off when the
+     * same frames show up over and over again, e.g. a recurring failure logged from the same call path.
+     *
+     * @param exception      Exception containing stack to be displayed
+     * @param filter         a {@link StackFrameFilter} instance used to do the filtering, may be null
+     * @param cacheFrameText true to reuse the rendered text of previously seen {@link StackTraceElement}s
+     */
+    public ExceptionStackOutput(final T exception, final StackFrameFilter<T> filter, final boolean cacheFrameText) {
         this.exceptionStackItems = new ExceptionStack(exception).getOrigExceptionStackItems();
         this.filter = filter;
+        this.cacheFrameText = cacheFrameText;
     }
 
     /**
@@ -70,16 +103,39 @@ public class ExceptionStackOutput<T extends Throwable> {
      */
     public String printTrace() {
         final StringBuilder traceBuffer = new StringBuilder();
-        final int exceptionStackItemsSize = this.exceptionStackItems.size();
 
-        for (int i = 0; i < exceptionStackItemsSize; i++) {
-            final ExceptionStackItem item = this.exceptionStackItems.removeFirst();
-            final ExceptionStackItem nextItem = this.exceptionStackItems.peekFirst();
+        try {
+            this.printTrace(traceBuffer);
+        } catch (IOException e) {
+            // StringBuilder never throws
+            throw new IllegalStateException(e);
+        }
 
-            if (i == 0) {
-                traceBuffer.append(MessageFormat.format(ROOT_CAUSE_TEXT, item.getThrowable()));
+        return traceBuffer.toString();
+    }
+
+    /**
+     * Streams the stack trace for this instance to the given {@link Appendable}, using any current filters. Nothing is
+     * buffered besides the frames of a single exception in the chain.
+     *
+     * @param out destination of the trace
+     * @throws IOException if the destination fails to accept the output
+     */
+    public void printTrace(final Appendable out) throws IOException {
+        final Iterator<ExceptionStackItem> items = this.exceptionStackItems.iterator();
+        ExceptionStackItem nextItem = items.hasNext() ? items.next() : null;
+        boolean root = true;
+
+        while (nextItem != null) {
+            final ExceptionStackItem item = nextItem;
+            nextItem = items.hasNext() ? items.next() : null;
+
+            if (root) {
+                out.append(ROOT_CAUSE_PREFIX).append(String.valueOf(item.getThrowable())).append(LINE_SEPARATOR);
+                root = false;
             } else {
-                traceBuffer.append(MessageFormat.format(WRAPPED_BY_TEXT, item.getThrowable()));
+                out.append(WRAPPED_BY_PREFIX).append(String.valueOf(item.getThrowable())).append(WRAPPED_BY_SUFFIX)
+                        .append(LINE_SEPARATOR);
             }
 
             Collection<StackFrame> stackFrames;
@@ -94,7 +150,7 @@ public class ExceptionStackOutput<T extends Throwable> {
                 if (this.filter != null) {
                     switch (this.filter.process(stackFrame)) {
                         case TERMINATE_AFTER:
-                            traceBuffer.append(MessageFormat.format(AT_TEXT, stackFrame.getStackTraceElement()));
+                            this.appendFrame(out, stackFrame.getStackTraceElement());
                         case TERMINATE:
                         case DROP_REMAINING:
                             break trace_loop;
@@ -102,15 +158,30 @@ public class ExceptionStackOutput<T extends Throwable> {
 
                             continue;
                         default:
-                            traceBuffer.append(MessageFormat.format(AT_TEXT, stackFrame.getStackTraceElement()));
+                            this.appendFrame(out, stackFrame.getStackTraceElement());
                     }
                 } else {
-                    traceBuffer.append(MessageFormat.format(AT_TEXT, stackFrame.getStackTraceElement()));
+                    this.appendFrame(out, stackFrame.getStackTraceElement());
                 }
             }
         }
+    }
 
-        return traceBuffer.toString();
+    private void appendFrame(final Appendable out, final StackTraceElement element) throws IOException {
+        if (!this.cacheFrameText) {
+            out.append(AT_PREFIX).append(String.valueOf(element)).append(LINE_SEPARATOR);
+            return;
+        }
+
+        String text = FRAME_TEXT_CACHE.get(element);
+        if (text == null) {
+            text = new StringBuilder(AT_PREFIX).append(element).append(LINE_SEPARATOR).toString();
+            if (FRAME_TEXT_CACHE.size() >= MAX_CACHED_FRAMES) {
+                FRAME_TEXT_CACHE.clear();
+            }
+            FRAME_TEXT_CACHE.put(element, text);
+        }
+        out.append(text);
     }
 
     private Collection<StackFrame> createStackFrameCollectionFrom(final Throwable throwable) {
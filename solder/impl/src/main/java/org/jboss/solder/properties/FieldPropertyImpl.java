@@ -22,11 +22,9 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Member;
 import java.lang.reflect.Type;
 
+import org.jboss.solder.reflection.FieldAccessor;
 import org.jboss.solder.reflection.Reflections;
 
-import static org.jboss.solder.reflection.Reflections.getFieldValue;
-import static org.jboss.solder.reflection.Reflections.setFieldValue;
-
 /**
  * A bean property based on the value contained in a field
  *
@@ -37,6 +35,8 @@ class FieldPropertyImpl<V> implements FieldProperty<V> {
 
     private final Field field;
 
+    private volatile FieldAccessor accessor;
+
     FieldPropertyImpl(Field field) {
         this.field = field;
     }
@@ -63,13 +63,23 @@ class FieldPropertyImpl<V> implements FieldProperty<V> {
     }
 
     public V getValue(Object instance) {
-        setAccessible();
-        return getFieldValue(field, instance, getJavaClass());
+        return Reflections.<V>cast(getAccessor().get(instance));
     }
 
     public void setValue(Object instance, V value) {
-        setAccessible();
-        setFieldValue(true, field, instance, value);
+        getAccessor().set(instance, value);
+    }
+
+    /**
+     * The field is made accessible once, when it is first read or written.
+     */
+    private FieldAccessor getAccessor() {
+        FieldAccessor fieldAccessor = accessor;
+        if (fieldAccessor == null) {
+            fieldAccessor = new FieldAccessor(field);
+            accessor = fieldAccessor;
+        }
+        return fieldAccessor;
     }
 
     public Class<?> getDeclaringClass() {
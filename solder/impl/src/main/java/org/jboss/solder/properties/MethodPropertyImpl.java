@@ -18,13 +18,12 @@
  */
 package org.jboss.solder.properties;
 
-import static org.jboss.solder.reflection.Reflections.invokeMethod;
-
 import java.beans.Introspector;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 
+import org.jboss.solder.reflection.MethodInvoker;
 import org.jboss.solder.reflection.Reflections;
 
 /**
@@ -46,6 +45,8 @@ class MethodPropertyImpl<V> implements MethodProperty<V> {
     private final Method getterMethod;
     private final String propertyName;
     private final Method setterMethod;
+    private final MethodInvoker getterInvoker;
+    private final MethodInvoker setterInvoker;
 
     public MethodPropertyImpl(Method method) {
         final String accessorMethodPrefix;
@@ -81,7 +82,9 @@ class MethodPropertyImpl<V> implements MethodProperty<V> {
         }
         this.propertyName = Introspector.decapitalize(propertyNameInAccessorMethod);
         this.getterMethod = getGetterMethod(method.getDeclaringClass(), propertyName);
-        this.setterMethod = getSetterMethod(method.getDeclaringClass(), propertyName);
+        this.setterMethod = getSetterMethod(method.getDeclaringClass(), propertyName, propertyNameInAccessorMethod, getterMethod.getReturnType());
+        this.getterInvoker = new MethodInvoker(getterMethod, false);
+        this.setterInvoker = setterMethod == null ? null : new MethodInvoker(setterMethod, false);
     }
 
     public String getName() {
@@ -109,17 +112,23 @@ class MethodPropertyImpl<V> implements MethodProperty<V> {
         if (getterMethod == null) {
             throw new UnsupportedOperationException("Property " + this.setterMethod.getDeclaringClass() + "." + propertyName + " cannot be read, as there is no getter method.");
         }
-        return Reflections.cast(invokeMethod(getterMethod, instance));
+        return Reflections.cast(getterInvoker.invoke(instance));
     }
 
     public void setValue(Object instance, V value) {
         if (setterMethod == null) {
             throw new UnsupportedOperationException("Property " + this.getterMethod.getDeclaringClass() + "." + propertyName + " is read only, as there is no setter method.");
         }
-        invokeMethod(setterMethod, instance, value);
+        setterInvoker.invoke(instance, value);
     }
 
-    private static Method getSetterMethod(Class<?> clazz, String name) {
+    private static Method getSetterMethod(Class<?> clazz, String name, String propertyNameInAccessorMethod, Class<?> type) {
+        // The setter usually takes the type the getter returns, so look it up directly before scanning all methods
+        try {
+            return clazz.getMethod(SETTER_METHOD_PREFIX + propertyNameInAccessorMethod, type);
+        } catch (NoSuchMethodException e) {
+            // No-op, scan for a setter taking another type
+        }
         Method[] methods = clazz.getMethods();
         for (Method method : methods) {
             String methodName = method.getName();
@@ -0,0 +1,283 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.properties;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.solder.properties.query.PropertyQueries;
+import org.jboss.solder.reflection.ConverterMembers;
+import org.jboss.solder.reflection.PrimitiveTypes;
+import org.jboss.solder.reflection.Reflections;
+
+/**
+ * <p>
+ * Copies the values of the properties of a source class to the properties of
+ * the same name of a target class, for example between entities and DTOs.
+ * </p>
+ * <p/>
+ * <p>
+ * The properties to copy are found once, when the mapper is created. A
+ * property is copied when the target property is writable and its value can be
+ * assigned or converted. Any value can be converted to a <code>String</code>,
+ * and a <code>String</code> is converted the same way as HTTP parameters, see
+ * {@link ConverterMembers}. Other properties are left alone, they can be
+ * listed with {@link #getMappedProperties()}. A <code>null</code> value is not
+ * copied to a primitive property.
+ * </p>
+ * <p/>
+ * <p>
+ * A mapper does not change after it has been created and can be shared
+ * between threads.
+ * </p>
+ *
+ * @param <S> the source type
+ * @param <T> the target type
+ * @see Properties
+ * @see org.jboss.solder.properties.query.PropertyQuery
+ */
+public class PropertyMapper<S, T> {
+
+    private final Class<T> targetClass;
+    private final Mapping[] mappings;
+    private final List<String> mappedProperties;
+    private volatile Constructor<T> targetConstructor;
+
+    private PropertyMapper(Class<S> sourceClass, Class<T> targetClass) {
+        this.targetClass = targetClass;
+
+        final Map<String, Property<Object>> sourceProperties = new HashMap<String, Property<Object>>();
+        for (Property<Object> property : PropertyQueries.createQuery(sourceClass).getResultList()) {
+            if (!isStatic(property)) {
+                sourceProperties.put(property.getName(), property);
+            }
+        }
+
+        final List<Mapping> mappings = new ArrayList<Mapping>();
+        final List<String> mappedProperties = new ArrayList<String>();
+        for (Property<Object> target : PropertyQueries.createQuery(targetClass).getWritableResultList()) {
+            final Property<Object> source = sourceProperties.get(target.getName());
+            if (source == null || isStatic(target) || isFinalField(target)) {
+                continue;
+            }
+            final Conversion conversion = getConversion(source.getJavaClass(), target.getJavaClass());
+            if (conversion != null) {
+                mappings.add(new Mapping(source, target, conversion, target.getJavaClass().isPrimitive()));
+                mappedProperties.add(target.getName());
+            }
+        }
+        this.mappings = mappings.toArray(new Mapping[mappings.size()]);
+        this.mappedProperties = Collections.unmodifiableList(mappedProperties);
+    }
+
+    /**
+     * Create a mapper between two classes.
+     *
+     * @param sourceClass the class to read properties from
+     * @param targetClass the class to write properties to
+     * @return the mapper
+     */
+    public static <S, T> PropertyMapper<S, T> of(Class<S> sourceClass, Class<T> targetClass) {
+        if (sourceClass == null || targetClass == null) {
+            throw new IllegalArgumentException("sourceClass and targetClass may not be null");
+        }
+        return new PropertyMapper<S, T>(sourceClass, targetClass);
+    }
+
+    /**
+     * @return the names of the target properties this mapper writes
+     */
+    public List<String> getMappedProperties() {
+        return mappedProperties;
+    }
+
+    /**
+     * Copy the properties of the source to the target.
+     *
+     * @param source the instance to read from
+     * @param target the instance to write to
+     * @return the target
+     */
+    public T map(S source, T target) {
+        for (Mapping mapping : mappings) {
+            mapping.apply(source, target);
+        }
+        return target;
+    }
+
+    /**
+     * Copy the properties of the source to a new instance of the target class,
+     * created with its no-argument constructor.
+     *
+     * @param source the instance to read from
+     * @return the new target
+     */
+    public T map(S source) {
+        return map(source, newTarget());
+    }
+
+    /**
+     * Copy each source to a new instance of the target class.
+     *
+     * @param sources the instances to read from
+     * @return the new targets, in the order of the sources
+     */
+    public List<T> mapAll(Collection<? extends S> sources) {
+        final List<T> targets = new ArrayList<T>(sources.size());
+        for (S source : sources) {
+            targets.add(map(source));
+        }
+        return targets;
+    }
+
+    private T newTarget() {
+        Constructor<T> constructor = targetConstructor;
+        if (constructor == null) {
+            try {
+                constructor = Reflections.setAccessible(targetClass.getDeclaredConstructor());
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(targetClass.getName() + " has no no-argument constructor", e);
+            }
+            targetConstructor = constructor;
+        }
+        try {
+            return constructor.newInstance();
+        } catch (InstantiationException e) {
+            throw new IllegalStateException("Cannot instantiate " + targetClass.getName(), e);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot instantiate " + targetClass.getName(), e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Cannot instantiate " + targetClass.getName(), e.getCause());
+        }
+    }
+
+    private static boolean isStatic(Property<?> property) {
+        return Modifier.isStatic(property.getMember().getModifiers());
+    }
+
+    /**
+     * The member of a method property is its getter, which may well be final
+     * while the property is writable, so only fields are checked.
+     */
+    private static boolean isFinalField(Property<?> property) {
+        return property instanceof FieldProperty<?> && Modifier.isFinal(property.getMember().getModifiers());
+    }
+
+    private static Conversion getConversion(Class<?> sourceType, Class<?> targetType) {
+        if (PrimitiveTypes.box(targetType).isAssignableFrom(PrimitiveTypes.box(sourceType))) {
+            return Conversion.NONE;
+        } else if (targetType == String.class) {
+            return Conversion.TO_STRING;
+        } else if (sourceType == String.class) {
+            final Member converter;
+            try {
+                converter = ConverterMembers.getConverterMember(targetType);
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+            if (converter instanceof Method) {
+                final Method method = (Method) converter;
+                // Skip converters not returning the target type, such as the one for a subclass of Date
+                if (!Modifier.isStatic(method.getModifiers()) || !PrimitiveTypes.box(targetType).isAssignableFrom(PrimitiveTypes.box(method.getReturnType()))) {
+                    return null;
+                }
+            }
+            return new FromString(converter);
+        }
+        return null;
+    }
+
+    private static final class Mapping {
+        private final Property<Object> source;
+        private final Property<Object> target;
+        private final Conversion conversion;
+        private final boolean primitiveTarget;
+
+        Mapping(Property<Object> source, Property<Object> target, Conversion conversion, boolean primitiveTarget) {
+            this.source = source;
+            this.target = target;
+            this.conversion = conversion;
+            this.primitiveTarget = primitiveTarget;
+        }
+
+        void apply(Object sourceInstance, Object targetInstance) {
+            final Object value = source.getValue(sourceInstance);
+            if (value == null) {
+                if (!primitiveTarget) {
+                    target.setValue(targetInstance, null);
+                }
+            } else {
+                target.setValue(targetInstance, conversion.convert(value));
+            }
+        }
+    }
+
+    /**
+     * Converts a non-null value of the source property to the type of the target property.
+     */
+    private static class Conversion {
+        static final Conversion NONE = new Conversion();
+
+        static final Conversion TO_STRING = new Conversion() {
+            @Override
+            Object convert(Object value) {
+                return value.toString();
+            }
+        };
+
+        Object convert(Object value) {
+            return value;
+        }
+    }
+
+    /**
+     * Converts a <code>String</code> through the member found by {@link ConverterMembers}.
+     */
+    private static final class FromString extends Conversion {
+        private final Member converter;
+
+        FromString(Member converter) {
+            this.converter = converter;
+        }
+
+        @Override
+        Object convert(Object value) {
+            try {
+                if (converter instanceof Method) {
+                    return ((Method) converter).invoke(null, value);
+                } else {
+                    return ((Constructor<?>) converter).newInstance(value);
+                }
+            } catch (InvocationTargetException e) {
+                throw new IllegalArgumentException("Cannot convert [" + value + "] using " + converter, e.getCause());
+            } catch (InstantiationException e) {
+                throw new IllegalArgumentException("Cannot convert [" + value + "] using " + converter, e);
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("Cannot convert [" + value + "] using " + converter, e);
+            }
+        }
+    }
+}
@@ -41,4 +41,14 @@ public class AnnotatedPropertyCriteria implements PropertyCriteria {
         return m.isAnnotationPresent(annotationClass);
     }
 
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof AnnotatedPropertyCriteria && annotationClass.equals(((AnnotatedPropertyCriteria) obj).annotationClass);
+    }
+
+    @Override
+    public int hashCode() {
+        return annotationClass.hashCode();
+    }
+
 }
@@ -19,6 +19,7 @@ package org.jboss.solder.properties.query;
 import java.beans.Introspector;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 
 /**
  * A criteria that matches a property based on name
@@ -30,7 +31,7 @@ public class NamedPropertyCriteria implements PropertyCriteria {
     private final String[] propertyNames;
 
     public NamedPropertyCriteria(String... propertyNames) {
-        this.propertyNames = propertyNames;
+        this.propertyNames = propertyNames.clone();
     }
 
     public boolean fieldMatches(Field f) {
@@ -48,4 +49,14 @@ public class NamedPropertyCriteria implements PropertyCriteria {
         }
         return false;
     }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof NamedPropertyCriteria && Arrays.equals(propertyNames, ((NamedPropertyCriteria) obj).propertyNames);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(propertyNames);
+    }
 }
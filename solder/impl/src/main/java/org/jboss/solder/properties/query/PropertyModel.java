@@ -0,0 +1,198 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.properties.query;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jboss.solder.properties.Properties;
+import org.jboss.solder.properties.Property;
+import org.jboss.solder.reflection.ClassValueCache;
+
+/**
+ * The candidate properties of a class, as seen by {@link PropertyQuery}: its public accessor methods and the fields
+ * it declares or inherits. The model is built once per class. Properties are created once per member, the first time a
+ * query matches them, and shared by every query. Results of queries with well known criteria are remembered as well.
+ * <p/>
+ * Classes are weakly keyed and their models only softly held. A model refers to its class, which stays reachable,
+ * together with its class loader, until the model is cleared under memory pressure or by
+ * {@link org.jboss.solder.reflection.ReflectionMetadataCache#clear(ClassLoader)}.
+ *
+ * @see PropertyQuery
+ */
+final class PropertyModel {
+
+    private static final ClassValueCache<PropertyModel> MODELS = new ClassValueCache<PropertyModel>() {
+        @Override
+        protected PropertyModel computeValue(Class<?> type) {
+            return new PropertyModel(type);
+        }
+    };
+
+    private final Method[] accessorMethods;
+    private final Field[] fields;
+    private final ConcurrentMap<Member, Property<?>> properties;
+    private final ConcurrentMap<QueryKey, List<Property<?>>> results;
+
+    private PropertyModel(Class<?> targetClass) {
+        final List<Method> methods = new ArrayList<Method>();
+        // We ignore private methods
+        for (Method method : targetClass.getMethods()) {
+            if (method.getName().startsWith("is") || method.getName().startsWith("get")) {
+                methods.add(method);
+            }
+        }
+        final List<Field> fields = new ArrayList<Field>();
+        for (Class<?> cls = targetClass; cls != null && !cls.equals(Object.class); cls = cls.getSuperclass()) {
+            Collections.addAll(fields, cls.getDeclaredFields());
+        }
+        this.accessorMethods = methods.toArray(new Method[methods.size()]);
+        this.fields = fields.toArray(new Field[fields.size()]);
+        this.properties = new ConcurrentHashMap<Member, Property<?>>();
+        this.results = new ConcurrentHashMap<QueryKey, List<Property<?>>>();
+    }
+
+    static PropertyModel of(Class<?> targetClass) {
+        return MODELS.get(targetClass);
+    }
+
+    /**
+     * Runs a query against the model. Results are cached when all criteria are of the types provided by Solder, as
+     * only those compare equal by value.
+     *
+     * @return the matching properties, an unmodifiable list
+     */
+    List<Property<?>> query(List<PropertyCriteria> criteria, boolean writable) {
+        if (!isCacheable(criteria)) {
+            return execute(criteria, writable);
+        }
+        final QueryKey key = new QueryKey(criteria, writable);
+        List<Property<?>> result = results.get(key);
+        if (result == null) {
+            result = execute(criteria, writable);
+            results.put(key, result);
+        }
+        return result;
+    }
+
+    private List<Property<?>> execute(List<PropertyCriteria> criteria, boolean writable) {
+        final List<Property<?>> matches = new ArrayList<Property<?>>();
+        final Set<String> names = new HashSet<String>();
+
+        // First check public accessor methods
+        for (Method method : accessorMethods) {
+            if (methodMatches(criteria, method)) {
+                final Property<?> property = getProperty(method);
+                if (!writable || !property.isReadOnly()) {
+                    matches.add(property);
+                    names.add(property.getName());
+                }
+            }
+        }
+
+        // Now check declared fields, a field is skipped if a property of the same name was already found
+        for (Field field : fields) {
+            if (fieldMatches(criteria, field) && !names.contains(field.getName())) {
+                final Property<?> property = getProperty(field);
+                if (!writable || !property.isReadOnly()) {
+                    matches.add(property);
+                    names.add(property.getName());
+                }
+            }
+        }
+
+        return matches.isEmpty() ? Collections.<Property<?>>emptyList() : Collections.unmodifiableList(matches);
+    }
+
+    private Property<?> getProperty(Member member) {
+        Property<?> property = properties.get(member);
+        // Two threads may each create an equal property, either can be kept
+        if (property == null) {
+            property = Properties.createProperty(member);
+            properties.put(member, property);
+        }
+        return property;
+    }
+
+    private static boolean methodMatches(List<PropertyCriteria> criteria, Method method) {
+        for (PropertyCriteria c : criteria) {
+            if (!c.methodMatches(method)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean fieldMatches(List<PropertyCriteria> criteria, Field field) {
+        for (PropertyCriteria c : criteria) {
+            if (!c.fieldMatches(field)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isCacheable(List<PropertyCriteria> criteria) {
+        for (PropertyCriteria c : criteria) {
+            final Class<?> criteriaClass = c.getClass();
+            if (criteriaClass != AnnotatedPropertyCriteria.class && criteriaClass != NamedPropertyCriteria.class
+                    && criteriaClass != TypedPropertyCriteria.class) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class QueryKey {
+        private final PropertyCriteria[] criteria;
+        private final boolean writable;
+        private final int hashCode;
+
+        QueryKey(List<PropertyCriteria> criteria, boolean writable) {
+            this.criteria = criteria.toArray(new PropertyCriteria[criteria.size()]);
+            this.writable = writable;
+            this.hashCode = 31 * Arrays.hashCode(this.criteria) + (writable ? 1 : 0);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof QueryKey)) {
+                return false;
+            }
+            final QueryKey that = (QueryKey) o;
+            return this.hashCode == that.hashCode && this.writable == that.writable
+                    && Arrays.equals(this.criteria, that.criteria);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -16,13 +16,9 @@
  */
 package org.jboss.solder.properties.query;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.jboss.solder.properties.MethodProperty;
-import org.jboss.solder.properties.Properties;
 import org.jboss.solder.properties.Property;
 
 /**
@@ -40,6 +36,13 @@ import org.jboss.solder.properties.Property;
  * This class is not thread-safe, however the result returned by the
  * getResultList() method is.
  * </p>
+ * <p/>
+ * <p>
+ * The properties of a class are discovered once and the {@link Property}
+ * instances returned are shared between queries. Results are unmodifiable.
+ * The results of queries built only from the criteria provided by Solder are
+ * cached, so repeating such a query for the same class is a map lookup.
+ * </p>
  *
  * @author Shane Bryzak
  * @see PropertyQueries
@@ -151,60 +154,8 @@ public class PropertyQuery<V> {
      *                 read only
      * @return the results, or an empty list if there are no results
      */
+    @SuppressWarnings("unchecked")
     private List<Property<V>> getResultList(boolean writable) {
-        List<Property<V>> results = new ArrayList<Property<V>>();
-
-        // First check public accessor methods (we ignore private methods)
-        for (Method method : targetClass.getMethods()) {
-            if (!(method.getName().startsWith("is") || method.getName().startsWith("get")))
-                continue;
-
-            boolean match = true;
-            for (PropertyCriteria c : criteria) {
-                if (!c.methodMatches(method)) {
-                    match = false;
-                    break;
-                }
-            }
-            if (match) {
-                MethodProperty<V> property = Properties.<V>createProperty(method);
-                if (!writable || !property.isReadOnly()) {
-                    results.add(property);
-                }
-            }
-        }
-
-        Class<?> cls = targetClass;
-        while (cls != null && !cls.equals(Object.class)) {
-            // Now check declared fields
-            for (Field field : cls.getDeclaredFields()) {
-                boolean match = true;
-                for (PropertyCriteria c : criteria) {
-                    if (!c.fieldMatches(field)) {
-                        match = false;
-                        break;
-                    }
-                }
-                Property<V> prop = Properties.<V>createProperty(field);
-
-                if (match && !resultsContainsProperty(results, prop.getName())) {
-                    if (!writable || !prop.isReadOnly()) {
-                        results.add(prop);
-                    }
-                }
-            }
-
-            cls = cls.getSuperclass();
-        }
-
-        return results;
-    }
-
-    private boolean resultsContainsProperty(List<Property<V>> results, String propertyName) {
-        for (Property<V> p : results) {
-            if (propertyName.equals(p.getName()))
-                return true;
-        }
-        return false;
+        return (List<Property<V>>) (List<?>) PropertyModel.of(targetClass).query(criteria, writable);
     }
 }
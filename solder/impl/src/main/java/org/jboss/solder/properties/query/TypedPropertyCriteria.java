@@ -39,4 +39,14 @@ public class TypedPropertyCriteria implements PropertyCriteria {
     public boolean methodMatches(Method m) {
         return propertyClass.equals(m.getReturnType());
     }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof TypedPropertyCriteria && propertyClass.equals(((TypedPropertyCriteria) obj).propertyClass);
+    }
+
+    @Override
+    public int hashCode() {
+        return propertyClass.hashCode();
+    }
 }
@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.reflection;
+
+import java.lang.reflect.Member;
+import java.util.Calendar;
+import java.util.Date;
+
+import org.jboss.solder.servlet.http.TemporalConverters;
+
+/**
+ * Finds the member used to convert a <code>String</code> to a given type, as
+ * done for HTTP parameters and when mapping properties.
+ * <p/>
+ * Enums are converted by their <code>valueOf(String)</code> method, dates and
+ * calendars by {@link TemporalConverters}. Any other type is converted by its
+ * constructor taking a <code>String</code> or, if it has none, its
+ * <code>valueOf(String)</code> method.
+ *
+ * @see TemporalConverters
+ */
+public class ConverterMembers {
+
+    private ConverterMembers() {
+    }
+
+    /**
+     * Get the static method or constructor converting a <code>String</code> to
+     * the given type.
+     *
+     * @param type the type to convert to, primitive types are boxed
+     * @return a {@link java.lang.reflect.Method} taking a <code>String</code>
+     *         or a {@link java.lang.reflect.Constructor} taking a
+     *         <code>String</code>
+     * @throws NoSuchMethodException if the type cannot be converted from a
+     *                               <code>String</code>
+     */
+    public static Member getConverterMember(Class<?> type) throws NoSuchMethodException {
+        Class<?> targetClass = PrimitiveTypes.box(type);
+        if (targetClass.isEnum()) {
+            return targetClass.getMethod("valueOf", String.class);
+        } else if (Date.class.isAssignableFrom(targetClass)) {
+            return TemporalConverters.class.getMethod("parseDate", String.class);
+        } else if (Calendar.class.isAssignableFrom(targetClass)) {
+            return TemporalConverters.class.getMethod("parseCalendar", String.class);
+        } else {
+            try {
+                return targetClass.getConstructor(String.class);
+            } catch (NoSuchMethodException e) {
+                return targetClass.getMethod("valueOf", String.class);
+            }
+        }
+    }
+}
@@ -59,6 +59,10 @@ abstract class AnnotatedImpl implements Annotated {
         }
     }
 
+    AnnotationStore getAnnotationStore() {
+        return annotations;
+    }
+
     public <T extends Annotation> T getAnnotation(Class<T> annotationType) {
         return annotations.getAnnotation(annotationType);
     }
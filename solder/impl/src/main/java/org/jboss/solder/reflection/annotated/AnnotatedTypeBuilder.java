@@ -689,9 +689,14 @@ public class AnnotatedTypeBuilder<X> {
     }
 
     protected void mergeAnnotationsOnElement(Annotated annotated, boolean overwriteExisting, AnnotationBuilder typeAnnotations) {
+        if (annotated instanceof AnnotatedImpl) {
+            // Share the annotations of elements built by Solder until they are modified
+            typeAnnotations.readFrom(((AnnotatedImpl) annotated).getAnnotationStore());
+        }
         for (Annotation annotation : annotated.getAnnotations()) {
-            if (typeAnnotations.getAnnotation(annotation.annotationType()) != null) {
-                if (overwriteExisting) {
+            Annotation existing = typeAnnotations.getAnnotation(annotation.annotationType());
+            if (existing != null) {
+                if (overwriteExisting && existing != annotation) {
                     typeAnnotations.remove(annotation.annotationType());
                     typeAnnotations.add(annotation);
                 }
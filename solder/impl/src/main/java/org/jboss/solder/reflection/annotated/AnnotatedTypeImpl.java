@@ -45,6 +45,8 @@ class AnnotatedTypeImpl<X> extends AnnotatedImpl implements AnnotatedType<X> {
 
     private final Class<X> javaClass;
 
+    private volatile String typeId;
+
     /**
      * We make sure that there is a NewAnnotatedMember for every public
      * method/field/constructor
@@ -112,4 +114,18 @@ class AnnotatedTypeImpl<X> extends AnnotatedImpl implements AnnotatedType<X> {
         return Collections.unmodifiableSet(methods);
     }
 
+    /**
+     * The signature of this type, as generated by
+     * {@link Annotateds#createTypeId(AnnotatedType)}. As the type cannot change
+     * once created, the signature is only generated once.
+     */
+    String getTypeId() {
+        String id = this.typeId;
+        if (id == null) {
+            id = Annotateds.createTypeId(javaClass, getAnnotations(), getMethods(), getFields(), getConstructors());
+            this.typeId = id;
+        }
+        return id;
+    }
+
 }
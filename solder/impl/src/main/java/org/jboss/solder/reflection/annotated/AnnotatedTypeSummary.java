@@ -0,0 +1,106 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.reflection.annotated;
+
+import java.lang.annotation.Annotation;
+import java.lang.ref.WeakReference;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.enterprise.inject.spi.AnnotatedCallable;
+import javax.enterprise.inject.spi.AnnotatedConstructor;
+import javax.enterprise.inject.spi.AnnotatedField;
+import javax.enterprise.inject.spi.AnnotatedMethod;
+import javax.enterprise.inject.spi.AnnotatedParameter;
+import javax.enterprise.inject.spi.AnnotatedType;
+
+import org.jboss.solder.reflection.ClassValueStore;
+
+/**
+ * The annotation types present anywhere on the members of an {@link AnnotatedType}: its fields, methods,
+ * constructors and their parameters. Portable extensions use it to reject a type in a single lookup before walking
+ * its members, for example when a type has no handler or producer at all.
+ * <p/>
+ * A type is scanned once and the summary is shared by every extension looking at the same {@link AnnotatedType}
+ * instance. Summaries are held per class, weakly keyed and softly held, and are rebuilt when another extension
+ * replaces the annotated type of the class. A summary refers to its class, which stays reachable, together with its
+ * class loader, until the summary is cleared under memory pressure or by
+ * {@link org.jboss.solder.reflection.ReflectionMetadataCache#clear(ClassLoader)}.
+ */
+public class AnnotatedTypeSummary {
+
+    private static final ClassValueStore<AnnotatedTypeSummary> SUMMARIES = new ClassValueStore<AnnotatedTypeSummary>();
+
+    private final WeakReference<AnnotatedType<?>> annotatedType;
+    private final Set<Class<? extends Annotation>> memberAnnotationTypes;
+
+    private AnnotatedTypeSummary(AnnotatedType<?> annotatedType) {
+        this.annotatedType = new WeakReference<AnnotatedType<?>>(annotatedType);
+        this.memberAnnotationTypes = scan(annotatedType);
+    }
+
+    /**
+     * Get the summary of the given type, scanning it if it has not been seen yet.
+     *
+     * @param annotatedType the type to summarize
+     * @return the summary of the type
+     */
+    public static AnnotatedTypeSummary of(AnnotatedType<?> annotatedType) {
+        final Class<?> javaClass = annotatedType.getJavaClass();
+        AnnotatedTypeSummary summary = SUMMARIES.getIfPresent(javaClass);
+        if (summary == null || summary.annotatedType.get() != annotatedType) {
+            summary = new AnnotatedTypeSummary(annotatedType);
+            SUMMARIES.put(javaClass, summary);
+        }
+        return summary;
+    }
+
+    /**
+     * @param annotationType the annotation type to look for
+     * @return true if a field, method, constructor or parameter of the type carries the annotation
+     */
+    public boolean isPresentOnMember(Class<? extends Annotation> annotationType) {
+        return memberAnnotationTypes.contains(annotationType);
+    }
+
+    private static <X> Set<Class<? extends Annotation>> scan(AnnotatedType<X> annotatedType) {
+        final Set<Class<? extends Annotation>> annotationTypes = new HashSet<Class<? extends Annotation>>();
+        for (AnnotatedField<? super X> field : annotatedType.getFields()) {
+            addAnnotationTypes(annotationTypes, field.getAnnotations());
+        }
+        for (AnnotatedMethod<? super X> method : annotatedType.getMethods()) {
+            addAnnotationTypes(annotationTypes, method);
+        }
+        for (AnnotatedConstructor<X> constructor : annotatedType.getConstructors()) {
+            addAnnotationTypes(annotationTypes, constructor);
+        }
+        return annotationTypes;
+    }
+
+    private static void addAnnotationTypes(Set<Class<? extends Annotation>> annotationTypes, AnnotatedCallable<?> callable) {
+        addAnnotationTypes(annotationTypes, callable.getAnnotations());
+        for (AnnotatedParameter<?> parameter : callable.getParameters()) {
+            addAnnotationTypes(annotationTypes, parameter.getAnnotations());
+        }
+    }
+
+    private static void addAnnotationTypes(Set<Class<? extends Annotation>> annotationTypes, Set<Annotation> annotations) {
+        for (Annotation annotation : annotations) {
+            annotationTypes.add(annotation.annotationType());
+        }
+    }
+}
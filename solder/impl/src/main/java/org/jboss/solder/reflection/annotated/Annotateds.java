@@ -39,6 +39,8 @@ import javax.enterprise.inject.spi.AnnotatedMethod;
 import javax.enterprise.inject.spi.AnnotatedParameter;
 import javax.enterprise.inject.spi.AnnotatedType;
 
+import org.jboss.solder.reflection.Reflections;
+
 /**
  * <p>
  * Utilities for working with {@link Annotated}s.
@@ -151,15 +153,6 @@ public class Annotateds {
         }
     }
 
-    private static class MethodComparator implements Comparator<Method> {
-
-        public static final Comparator<Method> INSTANCE = new MethodComparator();
-
-        public int compare(Method arg0, Method arg1) {
-            return arg0.getName().compareTo(arg1.getName());
-        }
-    }
-
     private static final char SEPERATOR = ';';
 
     private Annotateds() {
@@ -172,11 +165,17 @@ public class Annotateds {
      * <p/>
      * This can be used to create a unique bean id for a passivation capable bean
      * that is added directly through the SPI.
+     * <p/>
+     * The signature of a type created by {@link AnnotatedTypeBuilder} is
+     * generated once and then kept by the type.
      *
      * @param annotatedType The type to generate a signature for
      * @return A string representation of the annotated type
      */
     public static <X> String createTypeId(AnnotatedType<X> annotatedType) {
+        if (annotatedType instanceof AnnotatedTypeImpl<?>) {
+            return ((AnnotatedTypeImpl<X>) annotatedType).getTypeId();
+        }
         return createTypeId(annotatedType.getJavaClass(), annotatedType.getAnnotations(), annotatedType.getMethods(), annotatedType.getFields(), annotatedType.getConstructors());
     }
 
@@ -485,15 +484,10 @@ public class Annotateds {
             builder.append('@');
             builder.append(a.annotationType().getName());
             builder.append('(');
-            Method[] declaredMethods = a.annotationType().getDeclaredMethods();
-            List<Method> methods = new ArrayList<Method>(declaredMethods.length);
-            for (Method m : declaredMethods) {
-                methods.add(m);
-            }
-            Collections.sort(methods, MethodComparator.INSTANCE);
+            Method[] methods = Reflections.getAnnotationMembers(a.annotationType());
 
-            for (int i = 0; i < methods.size(); ++i) {
-                Method method = methods.get(i);
+            for (int i = 0; i < methods.length; ++i) {
+                Method method = methods[i];
                 try {
                     Object value = method.invoke(a);
                     builder.append(method.getName());
@@ -508,7 +502,7 @@ public class Annotateds {
                 } catch (InvocationTargetException e) {
                     throw new RuntimeException("InvocationTargetException accessing annotation member, annotation:" + a.annotationType().getName() + " member: " + method.getName(), e);
                 }
-                if (i + 1 != methods.size()) {
+                if (i + 1 != methods.length) {
                     builder.append(',');
                 }
             }
@@ -30,6 +30,11 @@ import org.jboss.solder.support.SolderMessages;
 
 /**
  * Helper class used to build annotation stores
+ * <p/>
+ * A builder read from an existing {@link AnnotationStore} shares its contents
+ * until the first annotation is added or removed, and hands out the same store
+ * from {@link #create()} as long as nothing changed. Contents are copied before
+ * they are modified, so a store is never changed once created.
  *
  * @author Stuart Douglas
  */
@@ -37,18 +42,37 @@ public class AnnotationBuilder {
 
     private transient static SolderMessages messages = Messages.getBundle(SolderMessages.class);
 
-    private final Map<Class<? extends Annotation>, Annotation> annotationMap;
-    private final Set<Annotation> annotationSet;
+    private Map<Class<? extends Annotation>, Annotation> annotationMap;
+    private Set<Annotation> annotationSet;
+
+    // The store holding the current contents, null if they have been modified since it was created
+    private AnnotationStore store;
 
     AnnotationBuilder() {
         this.annotationMap = new HashMap<Class<? extends Annotation>, Annotation>();
         this.annotationSet = new HashSet<Annotation>();
     }
 
+    /**
+     * Shares the contents of the given store, if this builder holds no
+     * annotations yet.
+     */
+    void readFrom(AnnotationStore annotations) {
+        if (annotationSet.isEmpty()) {
+            this.annotationMap = annotations.getAnnotationMap();
+            this.annotationSet = annotations.getAnnotations();
+            this.store = annotations;
+        }
+    }
+
     public AnnotationBuilder add(Annotation annotation) {
         if (annotation == null) {
             throw new IllegalArgumentException(messages.parameterMustNotBeNull("annotation"));
         }
+        if (annotationMap.get(annotation.annotationType()) == annotation && annotationSet.contains(annotation)) {
+            return this;
+        }
+        beforeModification();
         annotationSet.add(annotation);
         annotationMap.put(annotation.annotationType(), annotation);
         return this;
@@ -58,6 +82,10 @@ public class AnnotationBuilder {
         if (annotationType == null) {
             throw new IllegalArgumentException(messages.parameterMustNotBeNull("annotationType"));
         }
+        if (!annotationMap.containsKey(annotationType) && !containsAssignable(annotationType)) {
+            return this;
+        }
+        beforeModification();
 
         Iterator<Annotation> it = annotationSet.iterator();
         while (it.hasNext()) {
@@ -71,7 +99,30 @@ public class AnnotationBuilder {
     }
 
     AnnotationStore create() {
-        return new AnnotationStore(annotationMap, annotationSet);
+        if (store == null) {
+            store = new AnnotationStore(annotationMap, annotationSet);
+        }
+        return store;
+    }
+
+    private boolean containsAssignable(Class<? extends Annotation> annotationType) {
+        for (Annotation an : annotationSet) {
+            if (annotationType.isAssignableFrom(an.annotationType())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Copies the contents if they are held by a store.
+     */
+    private void beforeModification() {
+        if (store != null) {
+            annotationMap = new HashMap<Class<? extends Annotation>, Annotation>(annotationMap);
+            annotationSet = new HashSet<Annotation>(annotationSet);
+            store = null;
+        }
     }
 
     public AnnotationBuilder addAll(Set<Annotation> annotations) {
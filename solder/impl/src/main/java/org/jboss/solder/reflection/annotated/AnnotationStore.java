@@ -52,6 +52,10 @@ class AnnotationStore {
         return annotationSet;
     }
 
+    Map<Class<? extends Annotation>, Annotation> getAnnotationMap() {
+        return annotationMap;
+    }
+
     boolean isAnnotationPresent(Class<? extends Annotation> annotationType) {
         return annotationMap.containsKey(annotationType);
     }
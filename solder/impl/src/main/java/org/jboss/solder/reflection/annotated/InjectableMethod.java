@@ -26,11 +26,10 @@ import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.enterprise.inject.spi.InjectionPoint;
 
+import org.jboss.solder.reflection.MethodInvoker;
 import org.jboss.solder.reflection.annotated.ParameterValueRedefiner.ParameterValue;
 
 import static org.jboss.solder.bean.Beans.createInjectionPoints;
-import static org.jboss.solder.reflection.Reflections.EMPTY_OBJECT_ARRAY;
-import static org.jboss.solder.reflection.Reflections.invokeMethod;
 
 /**
  * <p>
@@ -52,6 +51,7 @@ public class InjectableMethod<X> {
     private final AnnotatedMethod<X> method;
     private final List<InjectionPoint> parameters;
     private final BeanManager beanManager;
+    private final MethodInvoker invoker;
 
     /**
      * Instantiate a new {@link InjectableMethod}.
@@ -80,6 +80,7 @@ public class InjectableMethod<X> {
         this.method = method;
         this.parameters = new ArrayList<InjectionPoint>(parameters);
         this.beanManager = beanManager;
+        this.invoker = new MethodInvoker(method.getJavaMember(), true);
     }
 
     /**
@@ -161,18 +162,18 @@ public class InjectableMethod<X> {
      *                                     method fails.
      */
     public <T> T invoke(Object receiver, CreationalContext<T> creationalContext, ParameterValueRedefiner redefinition) {
-        List<Object> parameterValues = new ArrayList<Object>();
-        for (int i = 0; i < getParameters().size(); i++) {
+        Object[] parameterValues = new Object[getParameters().size()];
+        for (int i = 0; i < parameterValues.length; i++) {
             if (redefinition != null) {
                 ParameterValue value = new ParameterValue(i, getParameters().get(i), getBeanManager());
-                parameterValues.add(redefinition.redefineParameterValue(value));
+                parameterValues[i] = redefinition.redefineParameterValue(value);
             } else {
-                parameterValues.add(getBeanManager().getInjectableReference(getParameters().get(i), creationalContext));
+                parameterValues[i] = getBeanManager().getInjectableReference(getParameters().get(i), creationalContext);
             }
         }
 
         @SuppressWarnings("unchecked")
-        T result = (T) invokeMethod(true, method.getJavaMember(), receiver, parameterValues.toArray(EMPTY_OBJECT_ARRAY));
+        T result = (T) invoker.invoke(receiver, parameterValues);
 
         return result;
     }
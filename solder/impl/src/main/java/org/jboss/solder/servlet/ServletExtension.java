@@ -21,9 +21,7 @@ import java.lang.reflect.Member;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Arrays;
-import java.util.Calendar;
 import java.util.Collection;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -47,6 +45,7 @@ import org.jboss.solder.core.Requires;
 import org.jboss.solder.literal.AnyLiteral;
 import org.jboss.solder.literal.DefaultLiteral;
 import org.jboss.solder.messages.Messages;
+import org.jboss.solder.reflection.ConverterMembers;
 import org.jboss.solder.reflection.PrimitiveTypes;
 import org.jboss.solder.servlet.http.CookieParam;
 import org.jboss.solder.servlet.http.CookieParamProducer;
@@ -54,7 +53,6 @@ import org.jboss.solder.servlet.http.HeaderParam;
 import org.jboss.solder.servlet.http.HeaderParamProducer;
 import org.jboss.solder.servlet.http.RequestParam;
 import org.jboss.solder.servlet.http.RequestParamProducer;
-import org.jboss.solder.servlet.http.TemporalConverters;
 import org.jboss.solder.servlet.http.TypedParamValue;
 import org.jboss.solder.servlet.http.literal.CookieParamLiteral;
 import org.jboss.solder.servlet.http.literal.HeaderParamLiteral;
@@ -166,21 +164,7 @@ public class ServletExtension implements Extension {
                             // no converter needed
                         } else {
                             targetClass = PrimitiveTypes.box(targetClass);
-                            Member converter = null;
-
-                            if (targetClass.isEnum()) {
-                                converter = targetClass.getMethod("valueOf", String.class);
-                            } else if (Date.class.isAssignableFrom(targetClass)) {
-                                converter = TemporalConverters.class.getMethod("parseDate", String.class);
-                            } else if (Calendar.class.isAssignableFrom(targetClass)) {
-                                converter = TemporalConverters.class.getMethod("parseCalendar", String.class);
-                            } else {
-                                try {
-                                    converter = targetClass.getConstructor(String.class);
-                                } catch (NoSuchMethodException sce) {
-                                    converter = targetClass.getMethod("valueOf", String.class);
-                                }
-                            }
+                            Member converter = ConverterMembers.getConverterMember(targetClass);
 
                             // TODO need way to register or detect custom converters
                             converterMembersByType.put(targetClass, converter);
@@ -0,0 +1,58 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.test.exception.filter;
+
+import java.io.StringWriter;
+
+import junit.framework.Assert;
+
+import org.jboss.solder.exception.filter.ExceptionStackOutput;
+import org.junit.Test;
+
+public class ExceptionStackOutputTest {
+    private static Exception createChain() {
+        return new RuntimeException("outer", new IllegalStateException("inner"));
+    }
+
+    @Test
+    public void assertRootCauseIsPrintedFirst() {
+        final String trace = new ExceptionStackOutput<Exception>(createChain()).printTrace();
+
+        Assert.assertTrue(trace.startsWith("Root exception java.lang.IllegalStateException: inner"));
+        Assert.assertTrue(trace.contains("Wrapped within java.lang.RuntimeException: outer and re-thrown"));
+        Assert.assertTrue(trace.contains("\t at " + ExceptionStackOutputTest.class.getName()));
+    }
+
+    @Test
+    public void assertStreamedTraceMatchesStringTrace() throws Exception {
+        final ExceptionStackOutput<Exception> output = new ExceptionStackOutput<Exception>(createChain());
+        final StringWriter writer = new StringWriter();
+
+        output.printTrace(writer);
+
+        Assert.assertEquals(output.printTrace(), writer.toString());
+    }
+
+    @Test
+    public void assertCachedFrameTextMatchesUncached() {
+        final Exception e = createChain();
+        final String uncached = new ExceptionStackOutput<Exception>(e, null, false).printTrace();
+
+        Assert.assertEquals(uncached, new ExceptionStackOutput<Exception>(e, null, true).printTrace());
+        Assert.assertEquals(uncached, new ExceptionStackOutput<Exception>(e, null, true).printTrace());
+    }
+}
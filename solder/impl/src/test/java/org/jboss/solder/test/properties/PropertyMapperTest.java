@@ -0,0 +1,149 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.test.properties;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+import org.jboss.solder.properties.PropertyMapper;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verify properties are copied between classes by name.
+ */
+public class PropertyMapperTest {
+
+    public static class Entity {
+        private String name;
+        private int age;
+        private Integer rank;
+        private String code;
+        private Object secret = new Object();
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class Dto {
+        private String name;
+        private int age;
+        private int rank;
+        private Integer code;
+        private Thread secret;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class Form {
+        private String date = "2011-03-14";
+        private String calendar = "2011-03-14 10:30";
+    }
+
+    public static class Event {
+        private Date date;
+        private Calendar calendar;
+    }
+
+    public static class Person {
+        private String title;
+
+        public final String getName() {
+            return title;
+        }
+
+        public void setName(String name) {
+            this.title = name;
+        }
+    }
+
+    @Test
+    public void testPropertiesAreMappedByName() {
+        Entity entity = new Entity();
+        entity.setName("Trap");
+        entity.age = 7;
+        entity.code = "42";
+
+        Dto dto = PropertyMapper.of(Entity.class, Dto.class).map(entity);
+        assertEquals("Trap", dto.getName());
+        assertEquals(7, dto.age);
+        assertEquals(Integer.valueOf(42), dto.code);
+        // null is not copied to a primitive
+        assertEquals(0, dto.rank);
+    }
+
+    @Test
+    public void testIncompatiblePropertiesAreSkipped() {
+        PropertyMapper<Entity, Dto> mapper = PropertyMapper.of(Entity.class, Dto.class);
+        assertFalse(mapper.getMappedProperties().contains("secret"));
+        assertTrue(mapper.getMappedProperties().contains("code"));
+        assertNull(mapper.map(new Entity()).secret);
+    }
+
+    @Test
+    public void testMapAll() {
+        Entity first = new Entity();
+        first.setName("first");
+        Entity second = new Entity();
+        second.setName("second");
+
+        List<Dto> dtos = PropertyMapper.of(Entity.class, Dto.class).mapAll(Arrays.asList(first, second));
+        assertEquals(2, dtos.size());
+        assertEquals("first", dtos.get(0).getName());
+        assertEquals("second", dtos.get(1).getName());
+    }
+
+    @Test
+    public void testTemporalPropertiesAreConverted() {
+        Event event = PropertyMapper.of(Form.class, Event.class).map(new Form());
+
+        Calendar date = Calendar.getInstance();
+        date.setTime(event.date);
+        assertEquals(2011, date.get(Calendar.YEAR));
+        assertEquals(Calendar.MARCH, date.get(Calendar.MONTH));
+        assertEquals(14, date.get(Calendar.DAY_OF_MONTH));
+        assertEquals(10, event.calendar.get(Calendar.HOUR_OF_DAY));
+        assertEquals(30, event.calendar.get(Calendar.MINUTE));
+    }
+
+    @Test
+    public void testPropertyWithFinalGetterIsMapped() {
+        Entity entity = new Entity();
+        entity.setName("Trap");
+
+        PropertyMapper<Entity, Person> mapper = PropertyMapper.of(Entity.class, Person.class);
+        assertTrue(mapper.getMappedProperties().contains("name"));
+        assertEquals("Trap", mapper.map(entity).getName());
+    }
+}
@@ -16,6 +16,8 @@
  */
 package org.jboss.solder.test.properties.query;
 
+import java.util.List;
+
 import org.jboss.solder.properties.Property;
 import org.jboss.solder.properties.query.NamedPropertyCriteria;
 import org.jboss.solder.properties.query.PropertyQueries;
@@ -25,6 +27,8 @@ import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
 
 /**
  * Validate the property query mechanism.
@@ -74,4 +78,39 @@ public class PropertyQueryTest {
         o.setName("Trap");
         assertEquals("Trap", p.getValue(o));
     }
+
+    /**
+     * Repeating a query returns the same, unmodifiable result.
+     *
+     * @see PropertyQuery#getResultList()
+     */
+    @Test
+    public void testRepeatedQueryResultIsShared() {
+        List<Property<String>> first = PropertyQueries.<String>createQuery(Person.class)
+                .addCriteria(new TypedPropertyCriteria(String.class)).getResultList();
+        List<Property<String>> second = PropertyQueries.<String>createQuery(Person.class)
+                .addCriteria(new TypedPropertyCriteria(String.class)).getResultList();
+        assertEquals(2, first.size());
+        assertSame(first, second);
+        try {
+            first.clear();
+            fail("Query results must not be modifiable");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    /**
+     * A property exposed by both an accessor method and a field is returned
+     * once.
+     *
+     * @see PropertyQuery#getResultList()
+     */
+    @Test
+    public void testPropertyIsNotReturnedTwice() {
+        List<Property<String>> results = PropertyQueries.<String>createQuery(Person.class)
+                .addCriteria(new NamedPropertyCriteria("name")).getWritableResultList();
+        assertEquals(1, results.size());
+        assertEquals("name", results.get(0).getName());
+    }
 }
@@ -0,0 +1,85 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.test.reflection;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.jboss.solder.reflection.AnnotationInspector;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verify stereotypes are indexed per bean manager instance.
+ */
+public class AnnotationInspectorTest {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Marker {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Role {
+    }
+
+    @Marker
+    @Role
+    public static class Actor {
+    }
+
+    @Test
+    public void testEqualBeanManagersDoNotShareStereotypes() {
+        final BeanManager deployed = createBeanManager(true);
+        final BeanManager redeployed = createBeanManager(false);
+
+        assertTrue(AnnotationInspector.isAnnotationPresentOnStereotype(Actor.class, Marker.class, deployed));
+        assertFalse(AnnotationInspector.isAnnotationPresentOnStereotype(Actor.class, Marker.class, redeployed));
+        assertTrue(AnnotationInspector.isAnnotationPresentOnStereotype(Actor.class, Marker.class, deployed));
+    }
+
+    /**
+     * Creates a bean manager equal to every other one created here, as bean managers of a redeployed archive can be,
+     * which considers {@link Role} a stereotype declaring {@link Marker} or no stereotype at all.
+     */
+    private static BeanManager createBeanManager(final boolean roleIsStereotype) {
+        final Annotation marker = Actor.class.getAnnotation(Marker.class);
+        return (BeanManager) Proxy.newProxyInstance(BeanManager.class.getClassLoader(), new Class<?>[]{BeanManager.class},
+                new InvocationHandler() {
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        if (method.getName().equals("isStereotype")) {
+                            return roleIsStereotype && args[0] == Role.class;
+                        } else if (method.getName().equals("getStereotypeDefinition")) {
+                            return Collections.singleton(marker);
+                        } else if (method.getName().equals("equals")) {
+                            return args[0] instanceof BeanManager;
+                        } else if (method.getName().equals("hashCode")) {
+                            return 1;
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
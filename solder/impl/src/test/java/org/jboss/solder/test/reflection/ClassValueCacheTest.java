@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.test.reflection;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.solder.reflection.ClassValueCache;
+import org.jboss.solder.reflection.ClassValueStore;
+import org.jboss.solder.reflection.ReflectionMetadataCache;
+import org.jboss.solder.test.reflection.model.Cat;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Verify values are computed once per class and released with the class loader.
+ */
+public class ClassValueCacheTest {
+
+    private static final AtomicInteger COMPUTED = new AtomicInteger();
+
+    private static final ClassValueCache<String> NAMES = new ClassValueCache<String>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            COMPUTED.incrementAndGet();
+            return type.getName();
+        }
+    };
+
+    @Test
+    public void testValueIsComputedOnce() {
+        NAMES.clear();
+        final int computed = COMPUTED.get();
+
+        final String name = NAMES.get(Cat.class);
+        assertEquals(Cat.class.getName(), name);
+        assertSame(name, NAMES.get(Cat.class));
+        assertEquals(computed + 1, COMPUTED.get());
+    }
+
+    @Test
+    public void testClearForClassLoaderReleasesEveryCache() {
+        NAMES.get(Cat.class);
+        NAMES.get(String.class);
+
+        ReflectionMetadataCache.clear(Cat.class.getClassLoader());
+
+        assertNull(NAMES.getIfPresent(Cat.class));
+        assertEquals(String.class.getName(), NAMES.getIfPresent(String.class));
+    }
+
+    @Test
+    public void testStoredValuesAreReleasedWithTheClassLoader() {
+        final ClassValueStore<String> store = new ClassValueStore<String>();
+        assertNull(store.getIfPresent(Cat.class));
+        store.put(Cat.class, "cat");
+        assertEquals("cat", store.getIfPresent(Cat.class));
+
+        ReflectionMetadataCache.clear(Cat.class.getClassLoader());
+
+        assertNull(store.getIfPresent(Cat.class));
+    }
+}
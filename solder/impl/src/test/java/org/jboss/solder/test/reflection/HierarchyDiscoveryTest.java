@@ -0,0 +1,51 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.test.reflection;
+
+import java.io.Serializable;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Set;
+
+import junit.framework.Assert;
+
+import org.jboss.solder.reflection.HierarchyDiscovery;
+import org.junit.Test;
+
+public class HierarchyDiscoveryTest {
+    @Test
+    public void testSharedClosureIsNotModifiedByCallers() {
+        final Set<Type> closure = new HierarchyDiscovery(IllegalStateException.class).getTypeClosure();
+        Assert.assertTrue(closure.contains(RuntimeException.class));
+        Assert.assertTrue(closure.contains(Serializable.class));
+
+        closure.clear();
+
+        Assert.assertEquals(new HierarchyDiscovery(IllegalStateException.class).getTypeClosure(),
+                new HierarchyDiscovery(IllegalStateException.class).getTypeClosure());
+        Assert.assertTrue(new HierarchyDiscovery(IllegalStateException.class).getTypeClosure()
+                .contains(RuntimeException.class));
+    }
+
+    @Test
+    public void testResolvedTypeOfGenericClassIsStable() {
+        final Type resolvedType = new HierarchyDiscovery(ArrayList.class).getResolvedType();
+
+        Assert.assertEquals(resolvedType, new HierarchyDiscovery(ArrayList.class).getResolvedType());
+        Assert.assertSame(String.class, new HierarchyDiscovery(String.class).getResolvedType());
+    }
+}
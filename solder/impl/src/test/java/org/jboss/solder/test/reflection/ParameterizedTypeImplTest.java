@@ -0,0 +1,72 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.test.reflection;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import junit.framework.Assert;
+
+import org.jboss.solder.reflection.ParameterizedTypeImpl;
+import org.jboss.solder.reflection.ReflectionMetadataCache;
+import org.jboss.solder.test.reflection.model.Cat;
+import org.junit.Test;
+
+public class ParameterizedTypeImplTest {
+    List<String> strings;
+
+    @Test
+    public void testInternedTypesAreIdentical() {
+        Assert.assertSame(ParameterizedTypeImpl.intern(List.class, new Type[]{String.class}, null),
+                ParameterizedTypeImpl.intern(List.class, new Type[]{String.class}, null));
+        Assert.assertNotSame(ParameterizedTypeImpl.intern(List.class, new Type[]{String.class}, null),
+                ParameterizedTypeImpl.intern(List.class, new Type[]{Integer.class}, null));
+    }
+
+    @Test
+    public void testEqualToJdkType() throws Exception {
+        ParameterizedType jdkType = (ParameterizedType) getClass().getDeclaredField("strings").getGenericType();
+        Type type = ParameterizedTypeImpl.intern(List.class, new Type[]{String.class}, null);
+
+        Assert.assertEquals(jdkType, type);
+        Assert.assertEquals(type, jdkType);
+        Assert.assertEquals(jdkType.hashCode(), type.hashCode());
+    }
+
+    @Test
+    public void testArgumentsAreCopied() {
+        Type[] arguments = {String.class};
+        ParameterizedTypeImpl type = new ParameterizedTypeImpl(List.class, arguments, null);
+        int hashCode = type.hashCode();
+        arguments[0] = Integer.class;
+
+        Assert.assertEquals(String.class, type.getActualTypeArguments()[0]);
+        Assert.assertEquals(hashCode, type.hashCode());
+    }
+
+    @Test
+    public void testTypesAreInternedWithTheirArguments() {
+        Type cats = ParameterizedTypeImpl.intern(List.class, new Type[]{Cat.class}, null);
+        Type strings = ParameterizedTypeImpl.intern(List.class, new Type[]{String.class}, null);
+
+        ReflectionMetadataCache.clear(Cat.class.getClassLoader());
+
+        Assert.assertNotSame(cats, ParameterizedTypeImpl.intern(List.class, new Type[]{Cat.class}, null));
+        Assert.assertSame(strings, ParameterizedTypeImpl.intern(List.class, new Type[]{String.class}, null));
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.test.reflection;
+
+import java.lang.reflect.Method;
+
+import junit.framework.Assert;
+
+import org.jboss.solder.reflection.ReflectionMetadataCache;
+import org.jboss.solder.reflection.Reflections;
+import org.jboss.solder.test.reflection.model.Cat;
+import org.junit.Test;
+
+public class ReflectionMetadataCacheTest {
+    @Test
+    public void testRepeatedSearchIsAnsweredFromCache() {
+        Reflections.findDeclaredField(Cat.class, "lives");
+        final long hits = ReflectionMetadataCache.getHits();
+
+        Assert.assertEquals("lives", Reflections.findDeclaredField(Cat.class, "lives").getName());
+        Assert.assertTrue(ReflectionMetadataCache.getHits() > hits);
+    }
+
+    @Test
+    public void testMissingMembersAreRemembered() {
+        Assert.assertNull(Reflections.findDeclaredMethod(Cat.class, "fly"));
+        final long misses = ReflectionMetadataCache.getMisses();
+
+        Assert.assertNull(Reflections.findDeclaredMethod(Cat.class, "fly"));
+        Assert.assertEquals(misses, ReflectionMetadataCache.getMisses());
+    }
+
+    @Test
+    public void testEachCallerReceivesItsOwnMember() {
+        final Method first = Reflections.findDeclaredMethod(Cat.class, "diveUnderMovingCar");
+        first.setAccessible(true);
+
+        Assert.assertFalse(Reflections.findDeclaredMethod(Cat.class, "diveUnderMovingCar").isAccessible());
+    }
+
+    @Test
+    public void testClearForClassLoader() {
+        Reflections.findDeclaredField(Cat.class, "lives");
+        Assert.assertTrue(ReflectionMetadataCache.size() > 0);
+
+        ReflectionMetadataCache.clear(Cat.class.getClassLoader());
+        final long misses = ReflectionMetadataCache.getMisses();
+
+        Reflections.findDeclaredField(Cat.class, "lives");
+        Assert.assertEquals(misses + 1, ReflectionMetadataCache.getMisses());
+    }
+}
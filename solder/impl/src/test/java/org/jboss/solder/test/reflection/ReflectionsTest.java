@@ -18,9 +18,16 @@ package org.jboss.solder.test.reflection;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
 
 import junit.framework.Assert;
 import org.jboss.solder.test.reflection.model.Cat;
+import org.jboss.solder.reflection.FieldAccessor;
+import org.jboss.solder.reflection.MethodInvoker;
+import org.jboss.solder.reflection.ParameterizedTypeImpl;
+import org.jboss.solder.reflection.ReflectionMetadataCache;
 import org.jboss.solder.reflection.Reflections;
 import org.junit.Before;
 import org.junit.Test;
@@ -114,4 +121,53 @@ public class ReflectionsTest {
         Assert.assertTrue(result.isAccessible());
         Assert.assertSame(f, result);
     }
+
+    @Test
+    public void should_invoke_private_method_through_accessible_invoker() {
+        MethodInvoker invoker = new MethodInvoker(Reflections.findDeclaredMethod(Cat.class, "diveUnderMovingCar"), true);
+        invoker.invoke(subject);
+        invoker.invoke(subject);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void should_fail_invoking_private_method_through_invoker() {
+        new MethodInvoker(Reflections.findDeclaredMethod(Cat.class, "diveUnderMovingCar"), false).invoke(subject);
+    }
+
+    @Test
+    public void should_read_and_write_private_field_through_accessor() {
+        FieldAccessor accessor = new FieldAccessor(Reflections.findDeclaredField(Cat.class, "lives"));
+        accessor.set(subject, 3);
+        Assert.assertEquals(3, accessor.get(subject));
+        Assert.assertEquals(3, subject.getLives());
+    }
+
+    @Test
+    public void should_read_and_write_primitive_field_without_boxing() {
+        FieldAccessor accessor = new FieldAccessor(Reflections.findDeclaredField(Cat.class, "lives"));
+        Assert.assertEquals(9, accessor.getInt(subject));
+        accessor.setInt(subject, 4);
+        Assert.assertEquals(4, subject.getLives());
+        Assert.assertEquals(4L, accessor.getLong(subject));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void should_fail_reading_primitive_field_as_boolean() {
+        new FieldAccessor(Reflections.findDeclaredField(Cat.class, "lives")).getBoolean(subject);
+    }
+
+    @Test
+    public void should_give_same_assignability_when_repeated() {
+        Type numbers = new ParameterizedTypeImpl(Collection.class, new Type[]{Number.class}, null);
+        Type integers = new ParameterizedTypeImpl(List.class, new Type[]{Integer.class}, null);
+        Type strings = new ParameterizedTypeImpl(List.class, new Type[]{String.class}, null);
+        for (int i = 0; i < 2; i++) {
+            Assert.assertTrue(Reflections.isAssignableFrom(numbers, integers));
+            Assert.assertFalse(Reflections.isAssignableFrom(numbers, strings));
+            Assert.assertFalse(Reflections.isAssignableFrom(integers, numbers));
+            Assert.assertTrue(Reflections.matches(integers, new ParameterizedTypeImpl(List.class, new Type[]{Integer.class}, null)));
+            Assert.assertFalse(Reflections.matches(numbers, integers));
+            ReflectionMetadataCache.clear();
+        }
+    }
 }
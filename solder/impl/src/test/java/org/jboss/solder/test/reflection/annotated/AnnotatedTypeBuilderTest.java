@@ -1,6 +1,9 @@
 package org.jboss.solder.test.reflection.annotated;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import javax.enterprise.context.ApplicationScoped;
@@ -8,7 +11,9 @@ import javax.enterprise.inject.Alternative;
 import javax.enterprise.inject.spi.AnnotatedType;
 import javax.inject.Named;
 
+import org.jboss.solder.literal.AlternativeLiteral;
 import org.jboss.solder.reflection.annotated.AnnotatedTypeBuilder;
+import org.jboss.solder.reflection.annotated.Annotateds;
 import org.junit.Test;
 
 /**
@@ -35,4 +40,42 @@ public class AnnotatedTypeBuilderTest {
         assertTrue(cat.isAnnotationPresent(ApplicationScoped.class));
         assertEquals("tomcat", cat.getAnnotation(Named.class).value());
     }
+
+    @Test
+    public void testUnchangedAnnotationsAreShared()
+    {
+        AnnotatedType<Cat> cat = new AnnotatedTypeBuilder<Cat>().readFromType(Cat.class).create();
+
+        AnnotatedType<Cat> copy = new AnnotatedTypeBuilder<Cat>().readFromType(cat).create();
+        assertSame(cat.getAnnotations(), copy.getAnnotations());
+
+        AnnotatedType<Cat> alternative = new AnnotatedTypeBuilder<Cat>().readFromType(cat).addToClass(AlternativeLiteral.INSTANCE).create();
+        assertNotSame(cat.getAnnotations(), alternative.getAnnotations());
+        assertTrue(alternative.isAnnotationPresent(Alternative.class));
+        assertFalse(cat.isAnnotationPresent(Alternative.class));
+    }
+
+    @Test
+    public void testCreatedTypeIsNotModifiedByBuilder()
+    {
+        AnnotatedTypeBuilder<Cat> builder = new AnnotatedTypeBuilder<Cat>().readFromType(Cat.class);
+        AnnotatedType<Cat> cat = builder.create();
+        builder.addToClass(AlternativeLiteral.INSTANCE);
+        builder.removeFromClass(Named.class);
+
+        assertEquals(1, cat.getAnnotations().size());
+        assertTrue(cat.isAnnotationPresent(Named.class));
+        assertFalse(cat.isAnnotationPresent(Alternative.class));
+        assertTrue(builder.create().isAnnotationPresent(Alternative.class));
+    }
+
+    @Test
+    public void testTypeIdIsKeptByCreatedType()
+    {
+        AnnotatedType<Cat> cat = new AnnotatedTypeBuilder<Cat>().readFromType(Cat.class).create();
+
+        String id = Annotateds.createTypeId(cat);
+        assertEquals(Annotateds.createTypeId(Cat.class, cat.getAnnotations(), cat.getMethods(), cat.getFields(), cat.getConstructors()), id);
+        assertSame(id, Annotateds.createTypeId(cat));
+    }
 }
@@ -0,0 +1,73 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.test.reflection.annotated;
+
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.Produces;
+import javax.enterprise.inject.spi.AnnotatedField;
+import javax.enterprise.inject.spi.AnnotatedType;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.jboss.solder.literal.NamedLiteral;
+import org.jboss.solder.reflection.annotated.AnnotatedTypeBuilder;
+import org.jboss.solder.reflection.annotated.AnnotatedTypeSummary;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AnnotatedTypeSummaryTest {
+
+    static class Kennel {
+        @Inject
+        String name;
+
+        @Produces
+        String getName() {
+            return name;
+        }
+
+        void onCat(@Observes Cat cat) {
+        }
+    }
+
+    @Test
+    public void testMemberAnnotationsAreSummarized() {
+        AnnotatedType<Kennel> kennel = new AnnotatedTypeBuilder<Kennel>().readFromType(Kennel.class).create();
+        AnnotatedTypeSummary summary = AnnotatedTypeSummary.of(kennel);
+
+        assertTrue(summary.isPresentOnMember(Inject.class));
+        assertTrue(summary.isPresentOnMember(Produces.class));
+        assertTrue(summary.isPresentOnMember(Observes.class));
+        assertFalse(summary.isPresentOnMember(Named.class));
+        assertSame(summary, AnnotatedTypeSummary.of(kennel));
+    }
+
+    @Test
+    public void testReplacedTypeIsScannedAgain() {
+        AnnotatedType<Kennel> kennel = new AnnotatedTypeBuilder<Kennel>().readFromType(Kennel.class).create();
+        assertFalse(AnnotatedTypeSummary.of(kennel).isPresentOnMember(Named.class));
+
+        AnnotatedTypeBuilder<Kennel> builder = new AnnotatedTypeBuilder<Kennel>().readFromType(kennel);
+        for (AnnotatedField<? super Kennel> field : kennel.getFields()) {
+            builder.addToField(field, new NamedLiteral("kennel"));
+        }
+        assertTrue(AnnotatedTypeSummary.of(builder.create()).isPresentOnMember(Named.class));
+    }
+}
@@ -16,12 +16,14 @@
  */
 package org.jboss.solder.test.util;
 
+import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.jboss.solder.reflection.AnnotationInstanceProvider;
 import org.jboss.solder.reflection.NullMemberException;
+import org.jboss.solder.reflection.Reflections;
 import org.junit.Test;
 
 /**
@@ -126,4 +128,86 @@ public class AnnotationInstanceProviderTest {
         assert an.value() == 1 : "Annotation member was not equal to default value";
     }
 
+    /**
+     * Test that created annotations follow the hashCode and equals contract of
+     * {@link java.lang.annotation.Annotation}, among themselves and with declared annotations
+     */
+    @Test
+    public void testHashCodeAndEqualsContract() {
+        AnnotationInstanceProvider provider = new AnnotationInstanceProvider();
+        Map<String, Object> values = new HashMap<String, Object>();
+        values.put("intMember", 1);
+        values.put("longMember", 1);
+        values.put("shortMember", 1);
+        values.put("floatMember", 0);
+        values.put("doubleMember", 0);
+        values.put("byteMember", ((byte) 1));
+        values.put("charMember", 'c');
+        values.put("booleanMember", true);
+        values.put("intArrayMember", new int[]{0, 1});
+        MultipleMembers an = provider.get(MultipleMembers.class, values);
+        MultipleMembers other = provider.get(MultipleMembers.class, values);
+        MultipleMembers realAn = AnnotatedClass.class.getAnnotation(MultipleMembers.class);
+        assert an.hashCode() == realAn.hashCode() : "Hash code differs from declared annotation";
+        assert an.equals(other) && other.equals(an) : "Equality between created annotations failed";
+        assert an.hashCode() == other.hashCode() : "Equal annotations have different hash codes";
+        assert realAn.equals(an) : "Equality of declared annotation with created annotation failed";
+    }
+
+    /**
+     * Test that array members cannot be modified through the annotation
+     */
+    @Test
+    public void testArrayMembersAreCopied() {
+        AnnotationInstanceProvider provider = new AnnotationInstanceProvider();
+        Map<String, Object> values = new HashMap<String, Object>();
+        values.put("intMember", 1);
+        values.put("longMember", 1);
+        values.put("shortMember", 1);
+        values.put("floatMember", 0);
+        values.put("doubleMember", 0);
+        values.put("byteMember", ((byte) 1));
+        values.put("charMember", 'c');
+        values.put("booleanMember", true);
+        values.put("intArrayMember", new int[]{0, 1});
+        MultipleMembers an = provider.get(MultipleMembers.class, values);
+        int hashCode = an.hashCode();
+        an.intArrayMember()[0] = 5;
+        assert an.intArrayMember()[0] == 0 : "Array member was modified";
+        assert an.hashCode() == hashCode : "Hash code changed";
+    }
+
+    /**
+     * Test that an interning provider returns the same instance for equal
+     * member values, including values only equal after applying defaults
+     */
+    @Test
+    public void testInterning() {
+        AnnotationInstanceProvider provider = new AnnotationInstanceProvider(true);
+        Map<String, Object> values = new HashMap<String, Object>();
+        values.put("someMember", Integer.valueOf(0));
+        IntMemberAnnotation an = provider.get(IntMemberAnnotation.class, values);
+        values.put("value", Long.valueOf(1));
+        IntMemberAnnotation same = provider.get(IntMemberAnnotation.class, values);
+        values.put("value", Long.valueOf(2));
+        IntMemberAnnotation different = provider.get(IntMemberAnnotation.class, values);
+        assert an == same : "Equal annotation was not interned";
+        assert an != different : "Different annotations were interned as one";
+        assert new AnnotationInstanceProvider().get(IntMemberAnnotation.class, values) != new AnnotationInstanceProvider().get(IntMemberAnnotation.class, values) : "Annotations interned without interning mode";
+    }
+
+    /**
+     * Test that annotation members are sorted by name and that every caller
+     * receives its own members
+     */
+    @Test
+    public void testAnnotationMembersAreSorted() {
+        Method[] members = Reflections.getAnnotationMembers(MultipleMembers.class);
+        for (int i = 1; i < members.length; i++) {
+            assert members[i - 1].getName().compareTo(members[i].getName()) < 0 : "Members were not sorted by name";
+        }
+        members[0].setAccessible(true);
+        assert !Reflections.getAnnotationMembers(MultipleMembers.class)[0].isAccessible() : "Members were shared";
+    }
+
 }
@@ -0,0 +1,39 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.exception.control.test.common.handler;
+
+import java.util.concurrent.CountDownLatch;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.jboss.solder.exception.control.CaughtException;
+import org.jboss.solder.exception.control.Handles;
+import org.jboss.solder.exception.control.HandlesExceptions;
+
+@HandlesExceptions
+@ApplicationScoped
+public class AsyncExceptionHandler {
+    public static CountDownLatch ASYNC_HANDLER_CALLED = new CountDownLatch(1);
+    public static volatile Thread ASYNC_HANDLER_THREAD = null;
+    public static volatile Throwable ASYNC_HANDLER_EXCEPTION = null;
+
+    public void asyncHandler(@Handles(async = true) CaughtException<UnsupportedOperationException> event) {
+        ASYNC_HANDLER_THREAD = Thread.currentThread();
+        ASYNC_HANDLER_EXCEPTION = event.getException();
+        ASYNC_HANDLER_CALLED.countDown();
+    }
+}
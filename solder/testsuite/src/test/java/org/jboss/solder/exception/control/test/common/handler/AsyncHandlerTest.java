@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.exception.control.test.common.handler;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.solder.exception.control.ExceptionToCatch;
+import org.jboss.solder.exception.control.test.common.BaseWebArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(Arquillian.class)
+public class AsyncHandlerTest {
+    @Deployment(name = "AsyncHandlerTest")
+    public static Archive<?> createTestArchive() {
+        return BaseWebArchive.createBase("asyncHandler")
+                .addClasses(AsyncExceptionHandler.class);
+    }
+
+    @Inject
+    private BeanManager bm;
+
+    @Test
+    public void assertAsyncHandlerIsCalledOnAnotherThread() throws InterruptedException {
+        AsyncExceptionHandler.ASYNC_HANDLER_CALLED = new CountDownLatch(1);
+        final UnsupportedOperationException exception = new UnsupportedOperationException();
+        final ExceptionToCatch event = new ExceptionToCatch(exception);
+
+        try {
+            bm.fireEvent(event);
+            fail("An exception only handled by an asynchronous handler should be rethrown");
+        } catch (UnsupportedOperationException e) {
+            assertSame(exception, e);
+        }
+
+        assertFalse(event.isHandled());
+        assertTrue(AsyncExceptionHandler.ASYNC_HANDLER_CALLED.await(10, TimeUnit.SECONDS));
+        assertNotSame(Thread.currentThread(), AsyncExceptionHandler.ASYNC_HANDLER_THREAD);
+        assertSame(exception, AsyncExceptionHandler.ASYNC_HANDLER_EXCEPTION);
+    }
+}
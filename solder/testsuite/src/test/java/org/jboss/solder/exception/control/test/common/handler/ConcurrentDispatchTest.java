@@ -0,0 +1,97 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.exception.control.test.common.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.solder.exception.control.ExceptionToCatch;
+import org.jboss.solder.exception.control.test.common.BaseWebArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Dispatches exceptions to the same handler from many threads at once.
+ */
+@RunWith(Arquillian.class)
+public class ConcurrentDispatchTest {
+    private static final int THREADS = 16;
+    private static final int EXCEPTIONS_PER_THREAD = 250;
+
+    @Deployment(name = "ConcurrentDispatchTest")
+    public static Archive<?> createTestArchive() {
+        return BaseWebArchive.createBase("concurrentDispatch")
+                .addClasses(ConcurrentExceptionHandler.class);
+    }
+
+    @Inject
+    private BeanManager bm;
+
+    @Test
+    public void assertConcurrentDispatchCallsHandlerForEveryException() throws Exception {
+        ConcurrentExceptionHandler.TIMES_CALLED.set(0);
+
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final List<Future<Integer>> results = new ArrayList<Future<Integer>>(THREADS);
+
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(new Callable<Integer>() {
+                    public Integer call() throws Exception {
+                        start.await();
+                        int handled = 0;
+                        for (int j = 0; j < EXCEPTIONS_PER_THREAD; j++) {
+                            final ExceptionToCatch event = new ExceptionToCatch(new ArithmeticException());
+                            bm.fireEvent(event);
+                            if (event.isHandled()) {
+                                handled++;
+                            }
+                        }
+                        return handled;
+                    }
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<Integer> result : results) {
+                assertEquals(EXCEPTIONS_PER_THREAD, result.get(60, TimeUnit.SECONDS).intValue());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(THREADS * EXCEPTIONS_PER_THREAD, ConcurrentExceptionHandler.TIMES_CALLED.get());
+    }
+}
@@ -19,6 +19,7 @@ package org.jboss.solder.exception.control.test.common.handler;
 
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
@@ -40,6 +41,7 @@ import org.junit.runner.RunWith;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 
 @RunWith(Arquillian.class)
@@ -76,4 +78,14 @@ public class HandlerComparatorTest {
 
         assertThat(handlers.size(), is(4));
     }
+
+    @Test
+    public void assertResolvedHandlersAreReused() {
+        Collection<HandlerMethod<? extends Throwable>> first = extension.getHandlersForExceptionType(
+                IllegalArgumentException.class, bm, Collections.<Annotation>emptySet(), TraversalMode.DEPTH_FIRST);
+        Collection<HandlerMethod<? extends Throwable>> second = extension.getHandlersForExceptionType(
+                IllegalArgumentException.class, bm, Collections.<Annotation>emptySet(), TraversalMode.DEPTH_FIRST);
+
+        assertSame(first, second);
+    }
 }
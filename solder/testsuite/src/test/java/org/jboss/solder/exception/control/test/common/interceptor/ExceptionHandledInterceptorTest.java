@@ -65,4 +65,9 @@ public class ExceptionHandledInterceptorTest {
         assertEquals('\u0000', values.getChar());
         assertEquals(false, values.getBoolean());
     }
+
+    @Test
+    public void testValueReturnedBySuccessfulMethod(PrimitiveValues values) {
+        assertEquals(42, values.getAnswer());
+    }
 }
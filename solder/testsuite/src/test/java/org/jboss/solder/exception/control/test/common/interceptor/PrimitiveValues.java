@@ -52,4 +52,8 @@ public class PrimitiveValues {
     public boolean getBoolean() {
         throw new UnsupportedOperationException();
     }
+
+    public int getAnswer() {
+        return 42;
+    }
 }
@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.exception.control.test.common.metrics;
+
+import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.solder.exception.control.DispatchMetricsSnapshot;
+import org.jboss.solder.exception.control.ExceptionToCatch;
+import org.jboss.solder.exception.control.test.common.BaseWebArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+@RunWith(Arquillian.class)
+public class DispatchMetricsTest {
+    @Deployment(name = "DispatchMetricsTest")
+    public static Archive<?> createTestArchive() {
+        return BaseWebArchive.createBase("dispatchMetrics")
+                .addClasses(MetricsHandler.class);
+    }
+
+    @Inject
+    private BeanManager bm;
+
+    @Test
+    public void assertSnapshotIsFiredAfterInterval() {
+        MetricsHandler.LAST_SNAPSHOT = null;
+
+        for (int i = 0; i < MetricsHandler.SNAPSHOT_INTERVAL - 1; i++) {
+            bm.fireEvent(new ExceptionToCatch(new UnsupportedOperationException()));
+        }
+        assertNull(MetricsHandler.LAST_SNAPSHOT);
+
+        bm.fireEvent(new ExceptionToCatch(new UnsupportedOperationException()));
+
+        final DispatchMetricsSnapshot snapshot = MetricsHandler.LAST_SNAPSHOT;
+        assertNotNull(snapshot);
+        assertEquals(MetricsHandler.SNAPSHOT_INTERVAL, snapshot.getDispatches());
+        assertEquals(0, snapshot.getUnhandled());
+        assertEquals(Long.valueOf(MetricsHandler.SNAPSHOT_INTERVAL), snapshot.getFlowCounts().get("HANDLED"));
+        assertEquals(1, snapshot.getHandlerStatistics().size());
+
+        final DispatchMetricsSnapshot.HandlerStatistics statistics =
+                snapshot.getHandlerStatistics().values().iterator().next();
+        assertEquals(MetricsHandler.SNAPSHOT_INTERVAL, statistics.getInvocations());
+
+        long histogramTotal = 0;
+        for (long bucket : statistics.getLatencyHistogram()) {
+            histogramTotal += bucket;
+        }
+        assertEquals(MetricsHandler.SNAPSHOT_INTERVAL, histogramTotal);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.exception.control.test.common.metrics;
+
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.Produces;
+
+import org.jboss.solder.exception.control.CaughtException;
+import org.jboss.solder.exception.control.DispatchMetricsSettings;
+import org.jboss.solder.exception.control.DispatchMetricsSnapshot;
+import org.jboss.solder.exception.control.Handles;
+import org.jboss.solder.exception.control.HandlesExceptions;
+
+@HandlesExceptions
+public class MetricsHandler {
+    public static final int SNAPSHOT_INTERVAL = 5;
+
+    public static DispatchMetricsSnapshot LAST_SNAPSHOT = null;
+
+    @Produces
+    public DispatchMetricsSettings getSettings() {
+        return new DispatchMetricsSettings(false, SNAPSHOT_INTERVAL);
+    }
+
+    public void handler(@Handles CaughtException<UnsupportedOperationException> event) {
+        event.handled();
+    }
+
+    public void snapshot(@Observes DispatchMetricsSnapshot snapshot) {
+        LAST_SNAPSHOT = snapshot;
+    }
+}
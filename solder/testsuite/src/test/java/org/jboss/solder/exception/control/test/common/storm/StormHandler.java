@@ -0,0 +1,56 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.exception.control.test.common.storm;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.Produces;
+
+import org.jboss.solder.exception.control.CaughtException;
+import org.jboss.solder.exception.control.ExceptionStormSummary;
+import org.jboss.solder.exception.control.ExceptionStormSuppression;
+import org.jboss.solder.exception.control.Handles;
+import org.jboss.solder.exception.control.HandlesExceptions;
+
+@HandlesExceptions
+public class StormHandler {
+    public static final long WINDOW_MILLIS = 200;
+
+    public static int HANDLER_TIMES_CALLED = 0;
+    public static int STORM_SAFE_HANDLER_TIMES_CALLED = 0;
+    public static ExceptionStormSummary LAST_SUMMARY = null;
+
+    @Produces
+    public ExceptionStormSuppression getSuppression() {
+        // Only the top frame, exceptions are created at the same line but fired from different places
+        return new ExceptionStormSuppression(WINDOW_MILLIS, TimeUnit.MILLISECONDS, 1,
+                ExceptionStormSuppression.DEFAULT_MAX_FINGERPRINTS);
+    }
+
+    public void handler(@Handles CaughtException<IllegalStateException> event) {
+        HANDLER_TIMES_CALLED++;
+    }
+
+    public void stormSafeHandler(@Handles(stormSafe = true) CaughtException<IllegalStateException> event) {
+        STORM_SAFE_HANDLER_TIMES_CALLED++;
+    }
+
+    public void summary(@Observes ExceptionStormSummary summary) {
+        LAST_SUMMARY = summary;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2011, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.solder.exception.control.test.common.storm;
+
+import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.solder.exception.control.ExceptionToCatch;
+import org.jboss.solder.exception.control.test.common.BaseWebArchive;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(Arquillian.class)
+public class StormSuppressionTest {
+    @Deployment(name = "StormSuppressionTest")
+    public static Archive<?> createTestArchive() {
+        return BaseWebArchive.createBase("stormSuppression")
+                .addClasses(StormHandler.class);
+    }
+
+    @Inject
+    private BeanManager bm;
+
+    @Test
+    public void assertRepeatedExceptionsAreSuppressedWithinWindow() throws InterruptedException {
+        Thread.sleep(StormHandler.WINDOW_MILLIS);
+        StormHandler.HANDLER_TIMES_CALLED = 0;
+        StormHandler.STORM_SAFE_HANDLER_TIMES_CALLED = 0;
+        StormHandler.LAST_SUMMARY = null;
+
+        fireExceptions(10);
+
+        assertEquals(1, StormHandler.HANDLER_TIMES_CALLED);
+        assertEquals(10, StormHandler.STORM_SAFE_HANDLER_TIMES_CALLED);
+
+        Thread.sleep(StormHandler.WINDOW_MILLIS * 2);
+
+        fireExceptions(10);
+
+        assertEquals(2, StormHandler.HANDLER_TIMES_CALLED);
+        assertNotNull(StormHandler.LAST_SUMMARY);
+        assertEquals(IllegalStateException.class, StormHandler.LAST_SUMMARY.getExceptionType());
+        assertEquals(9, StormHandler.LAST_SUMMARY.getSuppressedCount());
+    }
+
+    @Test
+    public void assertRepeatedUnhandledExceptionsAreRethrown() {
+        for (int i = 0; i < 3; i++) {
+            final UnsupportedOperationException exception = new UnsupportedOperationException();
+            final ExceptionToCatch event = new ExceptionToCatch(exception);
+            try {
+                bm.fireEvent(event);
+                fail("An exception without handlers should be rethrown, also when it repeats within a storm");
+            } catch (UnsupportedOperationException e) {
+                assertSame(exception, e);
+            }
+            assertFalse(event.isHandled());
+        }
+    }
+
+    private void fireExceptions(int count) {
+        for (int i = 0; i < count; i++) {
+            final ExceptionToCatch event = new ExceptionToCatch(new IllegalStateException());
+            bm.fireEvent(event);
+            assertTrue(event.isHandled());
+        }
+    }
+}
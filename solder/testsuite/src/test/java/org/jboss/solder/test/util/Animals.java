@@ -28,4 +28,9 @@ public class Animals {
 
     }
 
+    @Lion
+    public void lion() {
+
+    }
+
 }
@@ -106,4 +106,17 @@ public class AnnotationInspectorTest {
         assertTrue(AnnotationInspector.isAnnotationPresentOnStereotype(catAnnotated, Animal.class, beanManager));
         assertEquals(CAT, AnnotationInspector.getAnnotationFromStereotype(catAnnotated, Animal.class, beanManager).species());
     }
+
+    @Test
+    public void testAnnotationOnNestedStereotype() throws Exception {
+        Method lionMethod = Animals.class.getMethod("lion");
+        assertFalse(lionMethod.isAnnotationPresent(Animal.class));
+
+        assertTrue(AnnotationInspector.isAnnotationPresent(lionMethod, Animal.class, beanManager));
+        assertEquals(CAT, AnnotationInspector.getAnnotation(lionMethod, Animal.class, beanManager).species());
+        assertTrue(AnnotationInspector.isAnnotationPresentOnStereotype(lionMethod, Cat.class, beanManager));
+
+        // Answered from the index the second time
+        assertEquals(CAT, AnnotationInspector.getAnnotationFromStereotype(lionMethod, Animal.class, beanManager).species());
+    }
 }
@@ -25,7 +25,7 @@ import javax.enterprise.inject.Stereotype;
 
 @Retention(RetentionPolicy.RUNTIME)
 @Stereotype
-@Target(ElementType.METHOD)
+@Target({ElementType.TYPE, ElementType.METHOD})
 @Animal(species = "Cat")
 public @interface Cat {
 